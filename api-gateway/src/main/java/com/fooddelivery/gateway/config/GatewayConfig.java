@@ -18,6 +18,8 @@ public class GatewayConfig {
         corsConfig.setAllowedOriginPatterns(Arrays.asList("*"));
         corsConfig.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         corsConfig.setAllowedHeaders(Arrays.asList("*"));
+        // Let browser clients read the menu ETag and export file names
+        corsConfig.setExposedHeaders(Arrays.asList("ETag", "Content-Disposition"));
         corsConfig.setAllowCredentials(true);
         corsConfig.setMaxAge(3600L);
         
@@ -0,0 +1,26 @@
+package com.fooddelivery.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class AppConfig {
+
+    // Calls to other services sit on the checkout path, so they time out quickly
+    @Bean
+    @LoadBalanced
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${order.http.connect-timeout-ms:500}") long connectTimeoutMs,
+                                     @Value("${order.http.read-timeout-ms:2000}") long readTimeoutMs) {
+        return builder
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+    }
+}
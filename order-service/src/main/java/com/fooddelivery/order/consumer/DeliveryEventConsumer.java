@@ -2,8 +2,11 @@ package com.fooddelivery.order.consumer;
 
 import com.fooddelivery.order.entity.Order;
 import com.fooddelivery.order.entity.OrderStatus;
+import com.fooddelivery.order.entity.TimelineSource;
 import com.fooddelivery.order.event.DeliveryEvent;
 import com.fooddelivery.order.repository.OrderRepository;
+import com.fooddelivery.order.service.OrderTimelineService;
+import com.fooddelivery.order.service.RestaurantAdmissionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -16,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class DeliveryEventConsumer {
     
     private final OrderRepository orderRepository;
+    private final RestaurantAdmissionService admissionService;
+    private final OrderTimelineService timelineService;
     
     @KafkaListener(
         topics = "delivery-picked-up",
@@ -34,6 +39,8 @@ public class DeliveryEventConsumer {
             if (order.getStatus() == OrderStatus.READY_FOR_PICKUP) {
                 order.setStatus(OrderStatus.OUT_FOR_DELIVERY);
                 orderRepository.save(order);
+                timelineService.record(order.getId(), OrderStatus.READY_FOR_PICKUP, OrderStatus.OUT_FOR_DELIVERY,
+                        TimelineSource.DELIVERY, event.getAgentId());
                 log.info("✅ Order status updated: orderId={}, status=OUT_FOR_DELIVERY", event.getOrderId());
             } else {
                 log.warn("⚠️ Order status not updated. Current status: {}", order.getStatus());
@@ -62,6 +69,8 @@ public class DeliveryEventConsumer {
             if (order.getStatus() == OrderStatus.OUT_FOR_DELIVERY) {
                 order.setStatus(OrderStatus.DELIVERED);
                 orderRepository.save(order);
+                timelineService.record(order.getId(), OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED,
+                        TimelineSource.DELIVERY, event.getAgentId());
                 log.info("✅ Order status updated: orderId={}, status=DELIVERED", event.getOrderId());
             } else {
                 log.warn("⚠️ Order status not updated. Current status: {}", order.getStatus());
@@ -89,8 +98,11 @@ public class DeliveryEventConsumer {
             
             // Only cancel order if it's not already delivered
             if (order.getStatus() != OrderStatus.DELIVERED && order.getStatus() != OrderStatus.CANCELLED) {
+                OrderStatus previousStatus = order.getStatus();
                 order.setStatus(OrderStatus.CANCELLED);
                 orderRepository.save(order);
+                admissionService.onStatusChange(order.getRestaurantId(), previousStatus, OrderStatus.CANCELLED);
+                timelineService.record(order.getId(), previousStatus, OrderStatus.CANCELLED, TimelineSource.DELIVERY, event.getAgentId());
                 log.info("✅ Order cancelled: orderId={}", event.getOrderId());
             }
             
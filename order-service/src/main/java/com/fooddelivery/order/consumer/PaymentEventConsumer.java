@@ -3,10 +3,14 @@ package com.fooddelivery.order.consumer;
 import com.fooddelivery.order.entity.Order;
 import com.fooddelivery.order.entity.OrderStatus;
 import com.fooddelivery.order.entity.ProcessedEvent;
+import com.fooddelivery.order.entity.TimelineSource;
 import com.fooddelivery.order.event.PaymentEvent;
 import com.fooddelivery.order.producer.OrderEventProducer;
+import com.fooddelivery.order.repository.OrderItemRepository;
 import com.fooddelivery.order.repository.OrderRepository;
 import com.fooddelivery.order.repository.ProcessedEventRepository;
+import com.fooddelivery.order.service.OrderTimelineService;
+import com.fooddelivery.order.service.RestaurantAdmissionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -23,8 +27,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class PaymentEventConsumer {
     
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final ProcessedEventRepository processedEventRepository;
     private final OrderEventProducer orderEventProducer;
+    private final RestaurantAdmissionService admissionService;
+    private final OrderTimelineService timelineService;
     
     /**
      * Handle PAYMENT_INITIATED event
@@ -53,10 +60,13 @@ public class PaymentEventConsumer {
             
             if (order != null) {
                 // Update existing order
+                OrderStatus previousStatus = order.getStatus();
                 order.setStatus(OrderStatus.PAYMENT_PENDING);
                 order.setPaymentId(event.getPaymentId());
                 order.setPaymentStatus("PENDING");
                 orderRepository.save(order);
+                admissionService.onStatusChange(order.getRestaurantId(), previousStatus, OrderStatus.PAYMENT_PENDING);
+                timelineService.record(order.getId(), previousStatus, OrderStatus.PAYMENT_PENDING, TimelineSource.PAYMENT, null);
                 log.info("Updated order {} to PAYMENT_PENDING status", order.getId());
             } else {
                 log.warn("Order {} not found for PAYMENT_INITIATED event", event.getOrderId());
@@ -116,12 +126,15 @@ public class PaymentEventConsumer {
             }
             
             // Update order status to PENDING (payment successful, waiting for restaurant)
+            OrderStatus previousStatus = order.getStatus();
             order.setStatus(OrderStatus.PENDING);
             order.setPaymentId(event.getPaymentId());
             order.setPaymentStatus("COMPLETED");
             order.setPaymentMethod(event.getPaymentMethod());
             
             Order updatedOrder = orderRepository.save(order);
+            admissionService.onStatusChange(updatedOrder.getRestaurantId(), previousStatus, OrderStatus.PENDING);
+            timelineService.record(updatedOrder.getId(), previousStatus, OrderStatus.PENDING, TimelineSource.PAYMENT, null);
             log.info("Updated order {} to PENDING status after payment completion", updatedOrder.getId());
             
             // Mark event as processed
@@ -133,7 +146,7 @@ public class PaymentEventConsumer {
             ));
             
             // Publish ORDER_CREATED event to trigger delivery flow
-            orderEventProducer.publishOrderCreated(updatedOrder);
+            orderEventProducer.publishOrderCreated(updatedOrder, orderItemRepository.findByOrderId(updatedOrder.getId()));
             log.info("Published ORDER_CREATED event for order {}", updatedOrder.getId());
             
             log.info("Successfully processed PAYMENT_COMPLETED event: eventId={}", event.getEventId());
@@ -171,10 +184,13 @@ public class PaymentEventConsumer {
             
             if (order != null) {
                 // Update order status to PAYMENT_FAILED
+                OrderStatus previousStatus = order.getStatus();
                 order.setStatus(OrderStatus.PAYMENT_FAILED);
                 order.setPaymentId(event.getPaymentId());
                 order.setPaymentStatus("FAILED");
                 orderRepository.save(order);
+                admissionService.onStatusChange(order.getRestaurantId(), previousStatus, OrderStatus.PAYMENT_FAILED);
+                timelineService.record(order.getId(), previousStatus, OrderStatus.PAYMENT_FAILED, TimelineSource.PAYMENT, null);
                 log.info("Updated order {} to PAYMENT_FAILED status", order.getId());
             } else {
                 log.warn("Order {} not found for PAYMENT_FAILED event", event.getOrderId());
@@ -222,9 +238,12 @@ public class PaymentEventConsumer {
                 .orElseThrow(() -> new RuntimeException("Order not found: " + event.getOrderId()));
             
             // Update order status to REFUNDED
+            OrderStatus previousStatus = order.getStatus();
             order.setStatus(OrderStatus.REFUNDED);
             order.setPaymentStatus("REFUNDED");
             orderRepository.save(order);
+            admissionService.onStatusChange(order.getRestaurantId(), previousStatus, OrderStatus.REFUNDED);
+            timelineService.record(order.getId(), previousStatus, OrderStatus.REFUNDED, TimelineSource.PAYMENT, null);
             log.info("Updated order {} to REFUNDED status", order.getId());
             
             // Mark event as processed
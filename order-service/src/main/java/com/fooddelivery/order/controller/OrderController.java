@@ -1,15 +1,28 @@
 package com.fooddelivery.order.controller;
 
+import com.fooddelivery.order.dto.BulkStatusUpdateRequest;
+import com.fooddelivery.order.dto.BulkStatusUpdateResult;
 import com.fooddelivery.order.dto.CreateOrderRequest;
 import com.fooddelivery.order.dto.OrderDTO;
+import com.fooddelivery.order.dto.OrderSearchCriteria;
+import com.fooddelivery.order.dto.OrderSearchPage;
+import com.fooddelivery.order.dto.OrderTimelineEntryDTO;
+import com.fooddelivery.order.dto.RestaurantLoadDTO;
 import com.fooddelivery.order.entity.OrderStatus;
+import com.fooddelivery.order.exception.OutOfStockException;
+import com.fooddelivery.order.exception.RestaurantBusyException;
 import com.fooddelivery.order.service.OrderService;
+import com.fooddelivery.order.service.OrderTimelineService;
+import com.fooddelivery.order.service.RestaurantAdmissionService;
 import com.fooddelivery.order.util.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -17,6 +30,8 @@ import java.util.List;
 public class OrderController {
     
     private final OrderService orderService;
+    private final RestaurantAdmissionService admissionService;
+    private final OrderTimelineService timelineService;
     
     @PostMapping
     public ResponseEntity<ApiResponse<OrderDTO>> createOrder(
@@ -25,6 +40,12 @@ public class OrderController {
         try {
             OrderDTO order = orderService.createOrder(userId, request);
             return ResponseEntity.ok(ApiResponse.success(order, "Order created successfully"));
+        } catch (RestaurantBusyException e) {
+            return ResponseEntity.status(429)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (OutOfStockException e) {
+            return ResponseEntity.status(409).body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
         }
@@ -38,6 +59,28 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(orders, "Orders retrieved successfully"));
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<OrderSearchPage>> searchOrders(
+            @RequestParam(required = false) List<OrderStatus> status,
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) String paymentStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
+            @RequestParam(required = false, defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "50") Integer size) {
+        try {
+            OrderSearchCriteria criteria = new OrderSearchCriteria(
+                    status, restaurantId, customerId, paymentStatus, from, to, sortBy, direction, cursor, size);
+            OrderSearchPage page = orderService.searchOrders(criteria);
+            return ResponseEntity.ok(ApiResponse.success(page, "Orders retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse<List<OrderDTO>>> getUserOrders(@PathVariable Long userId) {
         List<OrderDTO> orders = orderService.getUserOrders(userId);
@@ -61,18 +104,60 @@ public class OrderController {
         }
     }
     
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<ApiResponse<List<OrderTimelineEntryDTO>>> getOrderTimeline(@PathVariable Long id) {
+        List<OrderTimelineEntryDTO> timeline = timelineService.getTimeline(id);
+        return ResponseEntity.ok(ApiResponse.success(timeline, "Order timeline retrieved successfully"));
+    }
+    
     @GetMapping("/restaurant/{restaurantId}")
     public ResponseEntity<ApiResponse<List<OrderDTO>>> getRestaurantOrders(@PathVariable Long restaurantId) {
         List<OrderDTO> orders = orderService.getRestaurantOrders(restaurantId);
         return ResponseEntity.ok(ApiResponse.success(orders, "Orders retrieved successfully"));
     }
     
+    @GetMapping("/active-counts")
+    public ResponseEntity<ApiResponse<Map<Long, Long>>> getActiveOrderCounts(
+            @RequestParam List<Long> restaurantIds) {
+        try {
+            Map<Long, Long> counts = orderService.countActiveOrders(restaurantIds);
+            return ResponseEntity.ok(ApiResponse.success(counts, "Active order counts retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/admission")
+    public ResponseEntity<ApiResponse<List<RestaurantLoadDTO>>> getRestaurantLoads() {
+        List<RestaurantLoadDTO> loads = admissionService.getAllLoads();
+        return ResponseEntity.ok(ApiResponse.success(loads, "Restaurant loads retrieved successfully"));
+    }
+    
+    @GetMapping("/admission/{restaurantId}")
+    public ResponseEntity<ApiResponse<RestaurantLoadDTO>> getRestaurantLoad(@PathVariable Long restaurantId) {
+        RestaurantLoadDTO load = admissionService.getLoad(restaurantId);
+        return ResponseEntity.ok(ApiResponse.success(load, "Restaurant load retrieved successfully"));
+    }
+    
+    @PutMapping("/admission/{restaurantId}/capacity")
+    public ResponseEntity<ApiResponse<RestaurantLoadDTO>> updateRestaurantCapacity(
+            @PathVariable Long restaurantId,
+            @RequestParam Integer capacity) {
+        try {
+            RestaurantLoadDTO load = admissionService.setCapacity(restaurantId, capacity);
+            return ResponseEntity.ok(ApiResponse.success(load, "Restaurant capacity updated successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @PutMapping("/{id}/status")
     public ResponseEntity<ApiResponse<OrderDTO>> updateOrderStatus(
             @PathVariable Long id,
-            @RequestParam OrderStatus status) {
+            @RequestParam OrderStatus status,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
         try {
-            OrderDTO order = orderService.updateOrderStatus(id, status);
+            OrderDTO order = orderService.updateOrderStatus(id, status, userId);
             return ResponseEntity.ok(ApiResponse.success(order, "Order status updated successfully"));
         } catch (RuntimeException e) {
             return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
@@ -82,10 +167,11 @@ public class OrderController {
     @PatchMapping("/{id}")
     public ResponseEntity<ApiResponse<OrderDTO>> patchOrderStatus(
             @PathVariable Long id,
-            @RequestBody UpdateStatusRequest request) {
+            @RequestBody UpdateStatusRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
         try {
             OrderStatus orderStatus = OrderStatus.valueOf(request.getStatus().toUpperCase());
-            OrderDTO order = orderService.updateOrderStatus(id, orderStatus);
+            OrderDTO order = orderService.updateOrderStatus(id, orderStatus, userId);
             return ResponseEntity.ok(ApiResponse.success(order, "Order status updated successfully"));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(400).body(ApiResponse.error("Invalid status: " + request.getStatus()));
@@ -94,6 +180,26 @@ public class OrderController {
         }
     }
     
+    @PostMapping("/bulk-status")
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResult>> bulkUpdateStatus(
+            @RequestBody BulkStatusUpdateRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        OrderStatus orderStatus;
+        try {
+            orderStatus = OrderStatus.valueOf(request.getStatus().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error("Invalid status: " + request.getStatus()));
+        }
+        try {
+            BulkStatusUpdateResult result = orderService.bulkUpdateStatus(
+                    request.getOrderIds(), orderStatus, request.getRestaurantId(), userId);
+            return ResponseEntity.ok(ApiResponse.success(result,
+                    result.getUpdated() + " of " + result.getRequested() + " orders updated"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @PostMapping("/{id}/cancel")
     public ResponseEntity<ApiResponse<OrderDTO>> cancelOrder(
             @PathVariable Long id,
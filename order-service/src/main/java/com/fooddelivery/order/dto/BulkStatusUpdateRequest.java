@@ -0,0 +1,16 @@
+package com.fooddelivery.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequest {
+    private List<Long> orderIds;
+    private String status;
+    private Long restaurantId; // Optional - restricts the update to one restaurant's orders
+}
@@ -0,0 +1,29 @@
+package com.fooddelivery.order.dto;
+
+import com.fooddelivery.order.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+    private OrderStatus targetStatus;
+    private Integer requested;
+    private Integer updated;
+    private Integer failed;
+    private List<Item> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long orderId;
+        private Boolean success;
+        private OrderStatus previousStatus;
+        private String message;
+    }
+}
@@ -0,0 +1,25 @@
+package com.fooddelivery.order.dto;
+
+import com.fooddelivery.order.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchCriteria {
+    private List<OrderStatus> statuses;
+    private Long restaurantId;
+    private Long customerId;
+    private String paymentStatus;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String sortBy;       // createdAt (default) or grandTotal
+    private String direction;    // desc (default) or asc
+    private String cursor;       // nextCursor from the previous page
+    private Integer size;
+}
@@ -0,0 +1,17 @@
+package com.fooddelivery.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchPage {
+    private List<OrderDTO> orders;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Integer size;
+}
@@ -0,0 +1,21 @@
+package com.fooddelivery.order.dto;
+
+import com.fooddelivery.order.entity.OrderStatus;
+import com.fooddelivery.order.entity.TimelineSource;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTimelineEntryDTO {
+    private Long orderId;
+    private OrderStatus fromStatus;
+    private OrderStatus toStatus;
+    private TimelineSource source;
+    private Long actorId;
+    private LocalDateTime changedAt;
+}
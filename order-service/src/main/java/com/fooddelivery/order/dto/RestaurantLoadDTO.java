@@ -0,0 +1,17 @@
+package com.fooddelivery.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantLoadDTO {
+    private Long restaurantId;
+    private Integer inFlightOrders;
+    private Integer capacity;
+    private Integer availableSlots;
+    private Double utilization;
+    private Boolean busy;
+}
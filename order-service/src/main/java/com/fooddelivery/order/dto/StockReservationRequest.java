@@ -0,0 +1,26 @@
+package com.fooddelivery.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of restaurant-service's POST /api/menu/stock/reserve
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+    private Long orderId;
+    private List<Line> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long menuItemId;
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,18 @@
+package com.fooddelivery.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StockReservationResult {
+    private Long orderId;
+    private Boolean reserved;
+    private List<Long> unavailableItemIds; // Items that are unknown, unavailable or out of stock
+}
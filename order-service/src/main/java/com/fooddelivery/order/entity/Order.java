@@ -10,7 +10,17 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+// Index columns are physical names throughout, as userId is mapped to customer_id (see sql/add-order-indexes.sql)
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_orders_restaurant_status_created", columnList = "restaurant_id, status, created_at"),
+    @Index(name = "idx_orders_restaurant_created", columnList = "restaurant_id, created_at"),
+    @Index(name = "idx_orders_restaurant_total", columnList = "restaurant_id, grand_total, id"),
+    @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at"),
+    @Index(name = "idx_orders_payment_status_created", columnList = "payment_status, created_at"),
+    @Index(name = "idx_orders_created", columnList = "created_at"),
+    @Index(name = "idx_orders_total", columnList = "grand_total, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
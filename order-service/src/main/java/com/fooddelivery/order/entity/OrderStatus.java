@@ -1,5 +1,13 @@
 package com.fooddelivery.order.entity;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Order lifecycle states.
+ * order_timeline stores these as TINYINT ordinals - only append new values at the end.
+ */
 public enum OrderStatus {
     PAYMENT_PENDING,      // Waiting for payment to complete
     PAYMENT_FAILED,       // Payment failed
@@ -10,5 +18,38 @@ public enum OrderStatus {
     OUT_FOR_DELIVERY,     // Delivery agent picked up
     DELIVERED,            // Delivered to customer
     CANCELLED,            // Order cancelled
-    REFUNDED              // Payment refunded
+    REFUNDED;             // Payment refunded
+
+    // Forward path an order takes once payment has succeeded
+    private static final List<OrderStatus> FULFILMENT_FLOW = List.of(
+            PENDING, CONFIRMED, PREPARING, READY_FOR_PICKUP, OUT_FOR_DELIVERY, DELIVERED);
+
+    private static final Set<OrderStatus> CANCELLABLE = EnumSet.of(PENDING, CONFIRMED, PREPARING);
+
+    /**
+     * Whether staff may move an order from this status to the target.
+     * Orders only move forward along the fulfilment flow (steps may be skipped)
+     * and can be cancelled until the food is ready.
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        if (target == CANCELLED) {
+            return CANCELLABLE.contains(this);
+        }
+        int from = FULFILMENT_FLOW.indexOf(this);
+        int to = FULFILMENT_FLOW.indexOf(target);
+        return from >= 0 && to > from;
+    }
+
+    /**
+     * All statuses that may transition to the target
+     */
+    public static Set<OrderStatus> allowedSourcesFor(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
 }
@@ -0,0 +1,60 @@
+package com.fooddelivery.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a single order status transition.
+ * Every column is fixed width (BIGINT / TINYINT / DATETIME) so rows stay small,
+ * and the table is RANGE-partitioned by month on changedAt (see sql/create-order-timeline.sql and
+ * OrderTimelinePartitionMaintainer).
+ * Rows are never updated or deleted by the application.
+ */
+@Entity
+@Table(name = "order_timeline", indexes = {
+    @Index(name = "idx_timeline_order_changed", columnList = "orderId, changedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(columnDefinition = "TINYINT", updatable = false)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(columnDefinition = "TINYINT", nullable = false, updatable = false)
+    private OrderStatus toStatus;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(columnDefinition = "TINYINT", nullable = false, updatable = false)
+    private TimelineSource source;
+
+    @Column(updatable = false)
+    private Long actorId;
+
+    @Column(columnDefinition = "DATETIME(3)", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    public OrderTimelineEntry(Long orderId, OrderStatus fromStatus, OrderStatus toStatus,
+                              TimelineSource source, Long actorId) {
+        this.orderId = orderId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.source = source;
+        this.actorId = actorId;
+        this.changedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,13 @@
+package com.fooddelivery.order.entity;
+
+/**
+ * Who triggered an order status change.
+ * Stored as a TINYINT ordinal in order_timeline - only append new values at the end.
+ */
+public enum TimelineSource {
+    CUSTOMER,             // Customer placed or cancelled the order
+    STAFF,                // Restaurant staff / agent via the status API
+    PAYMENT,              // payment-service event
+    DELIVERY,             // delivery-service event
+    SYSTEM                // Background jobs inside order-service
+}
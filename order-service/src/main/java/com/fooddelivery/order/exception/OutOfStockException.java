@@ -0,0 +1,19 @@
+package com.fooddelivery.order.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Thrown when a restaurant cannot supply some of the items of a new order
+ */
+@Getter
+public class OutOfStockException extends RuntimeException {
+
+    private final List<Long> unavailableItemIds;
+
+    public OutOfStockException(List<Long> unavailableItemIds) {
+        super("Some items in your order are unavailable or sold out for today: " + unavailableItemIds);
+        this.unavailableItemIds = unavailableItemIds;
+    }
+}
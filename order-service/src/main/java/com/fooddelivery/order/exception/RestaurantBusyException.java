@@ -0,0 +1,19 @@
+package com.fooddelivery.order.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a restaurant has no kitchen capacity left for new orders
+ */
+@Getter
+public class RestaurantBusyException extends RuntimeException {
+
+    private final Long restaurantId;
+    private final int retryAfterSeconds;
+
+    public RestaurantBusyException(Long restaurantId, int retryAfterSeconds) {
+        super("Restaurant is busy right now and cannot accept new orders. Please try again in a few minutes.");
+        this.restaurantId = restaurantId;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -2,15 +2,20 @@ package com.fooddelivery.order.producer;
 
 import com.fooddelivery.order.config.KafkaTopicConfig;
 import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderItem;
 import com.fooddelivery.order.entity.OrderStatus;
 import com.fooddelivery.order.event.OrderEvent;
+import com.fooddelivery.order.event.OrderItemEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,10 +25,14 @@ public class OrderEventProducer {
     private final KafkaTemplate<String, OrderEvent> kafkaTemplate;
     
     /**
-     * Publish ORDER_CREATED event when a new order is placed
+     * Publish ORDER_CREATED event when a new order is placed.
+     * Carries the items so restaurant-service can reserve their stock.
      */
-    public void publishOrderCreated(Order order) {
+    public void publishOrderCreated(Order order, List<OrderItem> items) {
         OrderEvent event = new OrderEvent("ORDER_CREATED", order);
+        event.setItems(items.stream()
+                .map(item -> new OrderItemEvent(item.getMenuItemId(), item.getItemName(), item.getQuantity(), item.getPrice()))
+                .collect(Collectors.toList()));
         sendEventToTopic(event, KafkaTopicConfig.ORDER_CREATED_TOPIC);
         // Also send to main events topic for centralized monitoring
         sendEventToTopic(event, KafkaTopicConfig.ORDER_EVENTS_TOPIC);
@@ -91,6 +100,71 @@ public class OrderEventProducer {
         sendEventToTopic(event, KafkaTopicConfig.ORDER_EVENTS_TOPIC);
     }
     
+    /**
+     * Publish status events for many orders as one producer batch.
+     * All records are handed to the producer together and flushed once, instead of one task per send.
+     */
+    public void publishStatusChanges(List<Order> orders, Map<Long, OrderStatus> previousStatuses) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                for (Order order : orders) {
+                    OrderStatus previousStatus = previousStatuses.get(order.getId());
+                    String topic = topicFor(order.getStatus());
+                    OrderEvent event = topic != null
+                            ? new OrderEvent(eventTypeFor(order.getStatus()), order, previousStatus)
+                            : new OrderEvent("ORDER_STATUS_CHANGED", order, previousStatus);
+                    if (topic != null) {
+                        send(event, topic);
+                    }
+                    send(event, KafkaTopicConfig.ORDER_EVENTS_TOPIC);
+                }
+                kafkaTemplate.flush();
+                log.info("✅ Published status batch of {} orders", orders.size());
+            } catch (Exception e) {
+                log.error("❌ Exception while publishing status batch of {} orders", orders.size(), e);
+            }
+        });
+    }
+    
+    private String eventTypeFor(OrderStatus status) {
+        return "ORDER_" + status.name();
+    }
+    
+    private String topicFor(OrderStatus status) {
+        switch (status) {
+            case CONFIRMED:
+                return KafkaTopicConfig.ORDER_CONFIRMED_TOPIC;
+            case PREPARING:
+                return KafkaTopicConfig.ORDER_PREPARING_TOPIC;
+            case READY_FOR_PICKUP:
+                return KafkaTopicConfig.ORDER_READY_FOR_PICKUP_TOPIC;
+            case OUT_FOR_DELIVERY:
+                return KafkaTopicConfig.ORDER_OUT_FOR_DELIVERY_TOPIC;
+            case DELIVERED:
+                return KafkaTopicConfig.ORDER_DELIVERED_TOPIC;
+            case CANCELLED:
+                return KafkaTopicConfig.ORDER_CANCELLED_TOPIC;
+            default:
+                return null;
+        }
+    }
+    
+    private void send(OrderEvent event, String topic) {
+        kafkaTemplate.send(topic, event.getOrderId().toString(), event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("❌ Failed to publish {} to topic '{}' | Order: {}",
+                            event.getEventType(),
+                            topic,
+                            event.getOrderId(),
+                            ex);
+                    }
+                });
+    }
+    
     /**
      * Send event to specific Kafka topic asynchronously
      */
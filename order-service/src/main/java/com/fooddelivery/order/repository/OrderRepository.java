@@ -2,17 +2,84 @@ package com.fooddelivery.order.repository;
 
 import com.fooddelivery.order.entity.Order;
 import com.fooddelivery.order.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
     List<Order> findByUserId(Long userId);
     List<Order> findByRestaurantId(Long restaurantId);
     List<Order> findByDeliveryAgentId(Long deliveryAgentId);
     List<Order> findByStatus(OrderStatus status);
     List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<Order> findByRestaurantIdOrderByCreatedAtDesc(Long restaurantId);
+    long countByRestaurantIdAndStatusIn(Long restaurantId, Collection<OrderStatus> statuses);
+    
+    /**
+     * Orders in the given statuses for many restaurants in one grouped query, served by
+     * idx_orders_restaurant_status_created. Restaurants without such orders are absent.
+     */
+    @Query("SELECT o.restaurantId AS restaurantId, COUNT(o) AS orderCount FROM Order o "
+            + "WHERE o.restaurantId IN :restaurantIds AND o.status IN :statuses GROUP BY o.restaurantId")
+    List<RestaurantOrderCount> countByRestaurantIdsAndStatusIn(@Param("restaurantIds") Collection<Long> restaurantIds,
+                                                               @Param("statuses") Collection<OrderStatus> statuses);
+    
+    interface RestaurantOrderCount {
+        Long getRestaurantId();
+        Long getOrderCount();
+    }
+    
+    @Query("SELECT o.createdAt FROM Order o WHERE o.id = :id")
+    Optional<LocalDateTime> findCreatedAtById(@Param("id") Long id);
+    
+    /**
+     * Oldest orders stuck in a status, served by idx_orders_status_created (no full scan)
+     */
+    @Query("SELECT o FROM Order o WHERE o.status = :status AND o.createdAt < :cutoff ORDER BY o.createdAt ASC")
+    List<Order> findByStatusCreatedBefore(@Param("status") OrderStatus status,
+                                          @Param("cutoff") LocalDateTime cutoff,
+                                          Pageable pageable);
+    
+    /**
+     * Conditional transition - only applies if the order is still in the expected status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.paymentStatus = :paymentStatus, o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = :expectedStatus")
+    int transitionIfStatus(@Param("id") Long id,
+                           @Param("expectedStatus") OrderStatus expectedStatus,
+                           @Param("newStatus") OrderStatus newStatus,
+                           @Param("paymentStatus") String paymentStatus,
+                           @Param("now") LocalDateTime now);
+    
+    /**
+     * Orders of a batch, row-locked until the end of the transaction. Locked in id order so
+     * concurrent batches over overlapping orders cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Single-statement transition for a batch of orders; rows whose status moved on are skipped
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.updatedAt = :now " +
+           "WHERE o.id IN :ids AND o.status IN :fromStatuses")
+    int bulkTransition(@Param("ids") Collection<Long> ids,
+                       @Param("fromStatuses") Collection<OrderStatus> fromStatuses,
+                       @Param("newStatus") OrderStatus newStatus,
+                       @Param("now") LocalDateTime now);
 }
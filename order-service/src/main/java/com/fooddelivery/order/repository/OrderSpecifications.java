@@ -0,0 +1,71 @@
+package com.fooddelivery.order.repository;
+
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderStatus;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Composable filters for the admin order search.
+ * Each equality filter lines up with the leading columns of one of the composite indexes on orders,
+ * with created_at as the trailing range/sort column.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> hasStatusIn(Collection<OrderStatus> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> statuses.size() == 1
+                ? cb.equal(root.get("status"), statuses.iterator().next())
+                : root.get("status").in(statuses);
+    }
+
+    public static Specification<Order> hasRestaurant(Long restaurantId) {
+        return restaurantId == null ? null : (root, query, cb) -> cb.equal(root.get("restaurantId"), restaurantId);
+    }
+
+    public static Specification<Order> hasCustomer(Long customerId) {
+        return customerId == null ? null : (root, query, cb) -> cb.equal(root.get("userId"), customerId);
+    }
+
+    public static Specification<Order> hasPaymentStatus(String paymentStatus) {
+        if (paymentStatus == null || paymentStatus.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("paymentStatus"), paymentStatus.toUpperCase());
+    }
+
+    public static Specification<Order> createdFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Order> createdBefore(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    /**
+     * Keyset condition: rows strictly after (value, id) in the requested order
+     */
+    public static <Y extends Comparable<? super Y>> Specification<Order> after(
+            String attribute, Y value, Long id, boolean descending) {
+        return (root, query, cb) -> {
+            Path<Y> path = root.get(attribute);
+            Path<Long> idPath = root.get("id");
+            if (descending) {
+                return cb.or(
+                        cb.lessThan(path, value),
+                        cb.and(cb.equal(path, value), cb.lessThan(idPath, id)));
+            }
+            return cb.or(
+                    cb.greaterThan(path, value),
+                    cb.and(cb.equal(path, value), cb.greaterThan(idPath, id)));
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.fooddelivery.order.repository;
+
+import com.fooddelivery.order.entity.OrderTimelineEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Append-only access to the order timeline.
+ * Reads go through idx_timeline_order_changed, so one order's history is a single range scan.
+ */
+@Repository
+public interface OrderTimelineRepository extends JpaRepository<OrderTimelineEntry, Long> {
+    
+    /**
+     * One order's history; the changedAt lower bound lets MySQL prune the monthly partitions
+     * older than the order instead of probing the index in every one of them
+     */
+    @Query("SELECT t FROM OrderTimelineEntry t WHERE t.orderId = :orderId AND t.changedAt >= :since " +
+           "ORDER BY t.changedAt ASC, t.id ASC")
+    List<OrderTimelineEntry> findByOrderIdSince(@Param("orderId") Long orderId,
+                                                @Param("since") LocalDateTime since);
+}
@@ -4,17 +4,36 @@ import com.fooddelivery.order.dto.*;
 import com.fooddelivery.order.entity.Order;
 import com.fooddelivery.order.entity.OrderItem;
 import com.fooddelivery.order.entity.OrderStatus;
+import com.fooddelivery.order.entity.TimelineSource;
 import com.fooddelivery.order.event.OrderEvent;
 import com.fooddelivery.order.event.OrderItemEvent;
+import com.fooddelivery.order.exception.OutOfStockException;
 import com.fooddelivery.order.producer.OrderEventProducer;
 import com.fooddelivery.order.repository.OrderRepository;
 import com.fooddelivery.order.repository.OrderItemRepository;
+import com.fooddelivery.order.repository.OrderSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,12 +41,32 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
 
+    private static final int MAX_BULK_ORDERS = 200;
+    private static final int DEFAULT_SEARCH_SIZE = 50;
+    private static final int MAX_SEARCH_SIZE = 200;
+    private static final int MAX_ACTIVE_COUNT_RESTAURANTS = 500;
+
+    /**
+     * Placed (paid) and not yet ready for pickup
+     */
+    private static final Set<OrderStatus> ACTIVE_STATUSES = EnumSet.of(
+            OrderStatus.PENDING,
+            OrderStatus.CONFIRMED,
+            OrderStatus.PREPARING
+    );
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final java.util.Optional<OrderEventProducer> orderEventProducer;
+    private final RestaurantAdmissionService admissionService;
+    private final OrderTimelineService timelineService;
+    private final StockReservationClient stockReservationClient;
 
     @Transactional
     public OrderDTO createOrder(Long userId, CreateOrderRequest request) {
+        // Reject early if the restaurant kitchen is already at capacity
+        admissionService.admit(request.getRestaurantId());
+
         // Calculate totals
         double subtotal = request.getItems().stream()
                 .mapToDouble(item -> item.getPrice() * item.getQuantity())
@@ -58,6 +97,7 @@ public class OrderService {
         order.setPaymentStatus("PENDING");
 
         Order savedOrder = orderRepository.save(order);
+        timelineService.record(savedOrder.getId(), null, savedOrder.getStatus(), TimelineSource.CUSTOMER, userId);
 
         // Create order items
         List<OrderItem> orderItems = request.getItems().stream()
@@ -76,10 +116,13 @@ public class OrderService {
 
         orderItemRepository.saveAll(orderItems);
 
+        // Hold limited dishes before accepting the order; the whole order rolls back when something is sold out
+        reserveStock(savedOrder.getId(), orderItems);
+
         // Publish order created event to Kafka
         orderEventProducer.ifPresent(producer -> {
             try {
-                producer.publishOrderCreated(savedOrder);
+                producer.publishOrderCreated(savedOrder, orderItems);
                 log.info("Published ORDER_CREATED event for order: {}", savedOrder.getId());
             } catch (Exception e) {
                 log.error("Failed to publish ORDER_CREATED event for order: {}", savedOrder.getId(), e);
@@ -89,34 +132,98 @@ public class OrderService {
         return convertToDTO(savedOrder, orderItems);
     }
 
+    /**
+     * Reserve the items in restaurant-service and give them back if the order does not commit.
+     * When restaurant-service cannot be reached the order goes ahead and ORDER_CREATED reserves asynchronously.
+     */
+    private void reserveStock(Long orderId, List<OrderItem> orderItems) {
+        StockReservationResult stock = stockReservationClient.reserve(orderId, orderItems);
+        if (stock == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(stock.getReserved())) {
+            log.warn("Rejecting order {}: items {} are out of stock", orderId, stock.getUnavailableItemIds());
+            throw new OutOfStockException(stock.getUnavailableItemIds());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        stockReservationClient.release(orderId);
+                    }
+                }
+            });
+        }
+    }
+
     public List<OrderDTO> getUserOrders(Long userId) {
         List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return orders.stream()
-                .map(order -> {
-                    List<OrderItem> items = orderItemRepository.findByOrderId(order.getId());
-                    return convertToDTO(order, items);
-                })
-                .collect(Collectors.toList());
+        return convertToDTOs(orders);
     }
 
     public List<OrderDTO> getAllOrders() {
         List<Order> orders = orderRepository.findAll();
-        return orders.stream()
-                .map(order -> {
-                    List<OrderItem> items = orderItemRepository.findByOrderId(order.getId());
-                    return convertToDTO(order, items);
-                })
-                .collect(Collectors.toList());
+        return convertToDTOs(orders);
+    }
+
+    /**
+     * Filtered admin search with keyset (cursor) paging.
+     * Pages are read with LIMIT size + 1 and no COUNT query; items for the whole page load in one query.
+     */
+    public OrderSearchPage searchOrders(OrderSearchCriteria criteria) {
+        int size = criteria.getSize() == null
+                ? DEFAULT_SEARCH_SIZE
+                : Math.min(Math.max(criteria.getSize(), 1), MAX_SEARCH_SIZE);
+        String sortField = "grandTotal".equalsIgnoreCase(criteria.getSortBy()) ? "grandTotal" : "createdAt";
+        boolean descending = !"asc".equalsIgnoreCase(criteria.getDirection());
+
+        Specification<Order> spec = Specification.where(OrderSpecifications.hasStatusIn(criteria.getStatuses()))
+                .and(OrderSpecifications.hasRestaurant(criteria.getRestaurantId()))
+                .and(OrderSpecifications.hasCustomer(criteria.getCustomerId()))
+                .and(OrderSpecifications.hasPaymentStatus(criteria.getPaymentStatus()))
+                .and(OrderSpecifications.createdFrom(criteria.getFrom()))
+                .and(OrderSpecifications.createdBefore(criteria.getTo()));
+        if (criteria.getCursor() != null && !criteria.getCursor().isEmpty()) {
+            spec = spec.and(decodeCursor(criteria.getCursor(), sortField, descending));
+        }
+
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+        List<Order> rows = orderRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+
+        boolean hasMore = rows.size() > size;
+        List<Order> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1), sortField) : null;
+
+        return new OrderSearchPage(convertToDTOs(page), nextCursor, hasMore, page.size());
     }
 
     public List<OrderDTO> getRestaurantOrders(Long restaurantId) {
         List<Order> orders = orderRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurantId);
-        return orders.stream()
-                .map(order -> {
-                    List<OrderItem> items = orderItemRepository.findByOrderId(order.getId());
-                    return convertToDTO(order, items);
-                })
-                .collect(Collectors.toList());
+        return convertToDTOs(orders);
+    }
+
+    /**
+     * Active orders per restaurant, counted in the database so every instance gives the same answer.
+     * Restaurants without active orders map to 0.
+     */
+    public Map<Long, Long> countActiveOrders(Collection<Long> restaurantIds) {
+        Set<Long> ids = restaurantIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.size() > MAX_ACTIVE_COUNT_RESTAURANTS) {
+            throw new IllegalArgumentException(
+                    "At most " + MAX_ACTIVE_COUNT_RESTAURANTS + " restaurants can be counted at once");
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        ids.forEach(id -> counts.put(id, 0L));
+        if (!ids.isEmpty()) {
+            orderRepository.countByRestaurantIdsAndStatusIn(ids, ACTIVE_STATUSES)
+                    .forEach(row -> counts.put(row.getRestaurantId(), row.getOrderCount()));
+        }
+        return counts;
     }
 
     public OrderDTO getOrderById(Long orderId) {
@@ -128,12 +235,19 @@ public class OrderService {
 
     @Transactional
     public OrderDTO updateOrderStatus(Long orderId, OrderStatus status) {
+        return updateOrderStatus(orderId, status, null);
+    }
+
+    @Transactional
+    public OrderDTO updateOrderStatus(Long orderId, OrderStatus status, Long actorId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
 
         OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
         Order updated = orderRepository.save(order);
+        admissionService.onStatusChange(updated.getRestaurantId(), previousStatus, status);
+        timelineService.record(orderId, previousStatus, status, TimelineSource.STAFF, actorId);
         List<OrderItem> items = orderItemRepository.findByOrderId(orderId);
 
         // Publish specific event based on new status
@@ -178,6 +292,91 @@ public class OrderService {
         return convertToDTO(updated, items);
     }
 
+    /**
+     * Move many orders to the same status at once (kitchen tablets).
+     * Transitions are validated against one locking IN query, applied with a single UPDATE,
+     * and the resulting events go out as one producer batch after commit.
+     */
+    @Transactional
+    public BulkStatusUpdateResult bulkUpdateStatus(List<Long> orderIds, OrderStatus targetStatus,
+                                                   Long restaurantId, Long actorId) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one order id is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        if (ids.size() > MAX_BULK_ORDERS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_ORDERS + " orders can be updated at once");
+        }
+
+        // Locked so no other writer can move a row between its validation and the UPDATE
+        Map<Long, Order> ordersById = orderRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        Map<Long, BulkStatusUpdateResult.Item> results = new HashMap<>();
+        Map<Long, OrderStatus> previousStatuses = new HashMap<>();
+        for (Long id : ids) {
+            Order order = ordersById.get(id);
+            if (order == null) {
+                results.put(id, new BulkStatusUpdateResult.Item(id, false, null, "Order not found"));
+            } else if (restaurantId != null && !restaurantId.equals(order.getRestaurantId())) {
+                results.put(id, new BulkStatusUpdateResult.Item(id, false, order.getStatus(),
+                        "Order does not belong to restaurant " + restaurantId));
+            } else if (!order.getStatus().canTransitionTo(targetStatus)) {
+                results.put(id, new BulkStatusUpdateResult.Item(id, false, order.getStatus(),
+                        "Cannot change status from " + order.getStatus() + " to " + targetStatus));
+            } else {
+                previousStatuses.put(id, order.getStatus());
+            }
+        }
+
+        List<Order> updatedOrders = new ArrayList<>();
+        if (!previousStatuses.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            int updatedCount = orderRepository.bulkTransition(previousStatuses.keySet(),
+                    OrderStatus.allowedSourcesFor(targetStatus), targetStatus, now);
+
+            if (updatedCount != previousStatuses.size()) {
+                // Cannot happen while the rows are locked; roll back rather than guess which rows moved
+                throw new IllegalStateException("Bulk status update matched " + updatedCount + " of "
+                        + previousStatuses.size() + " locked orders");
+            }
+
+            for (Map.Entry<Long, OrderStatus> entry : previousStatuses.entrySet()) {
+                Long id = entry.getKey();
+                OrderStatus previousStatus = entry.getValue();
+                // Entity is detached after the bulk update; mirror the new state for the event
+                Order order = ordersById.get(id);
+                order.setStatus(targetStatus);
+                order.setUpdatedAt(now);
+                updatedOrders.add(order);
+
+                admissionService.onStatusChange(order.getRestaurantId(), previousStatus, targetStatus);
+                timelineService.record(id, previousStatus, targetStatus, TimelineSource.STAFF, actorId);
+                results.put(id, new BulkStatusUpdateResult.Item(id, true, previousStatus, "Status updated"));
+            }
+        }
+
+        orderEventProducer.ifPresent(producer -> {
+            if (updatedOrders.isEmpty()) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    producer.publishStatusChanges(updatedOrders, previousStatuses);
+                }
+            });
+        });
+
+        log.info("Bulk status update to {}: {}/{} orders updated", targetStatus, updatedOrders.size(), ids.size());
+
+        List<BulkStatusUpdateResult.Item> items = ids.stream()
+                .map(results::get)
+                .collect(Collectors.toList());
+        return new BulkStatusUpdateResult(targetStatus, ids.size(), updatedOrders.size(),
+                ids.size() - updatedOrders.size(), items);
+    }
+
     @Transactional
     public OrderDTO cancelOrder(Long orderId, Long userId, String reason) {
         Order order = orderRepository.findById(orderId)
@@ -207,6 +406,8 @@ public class OrderService {
         OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         Order updated = orderRepository.save(order);
+        admissionService.onStatusChange(updated.getRestaurantId(), previousStatus, OrderStatus.CANCELLED);
+        timelineService.record(orderId, previousStatus, OrderStatus.CANCELLED, TimelineSource.CUSTOMER, userId);
         List<OrderItem> items = orderItemRepository.findByOrderId(orderId);
 
         // Publish cancellation event
@@ -225,6 +426,42 @@ public class OrderService {
         return convertToDTO(updated, items);
     }
 
+    private String encodeCursor(Order last, String sortField) {
+        Object value = "grandTotal".equals(sortField) ? last.getGrandTotal() : last.getCreatedAt();
+        String raw = value + "~" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Order> decodeCursor(String cursor, String sortField, boolean descending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('~');
+            String value = raw.substring(0, separator);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            if ("grandTotal".equals(sortField)) {
+                return OrderSpecifications.after(sortField, Double.valueOf(value), id, descending);
+            }
+            return OrderSpecifications.after(sortField, LocalDateTime.parse(value), id, descending);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Convert a page of orders, loading all of their items with a single query
+     */
+    private List<OrderDTO> convertToDTOs(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> orderIds = orders.stream().map(Order::getId).collect(Collectors.toList());
+        Map<Long, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+        return orders.stream()
+                .map(order -> convertToDTO(order, itemsByOrder.getOrDefault(order.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
     private OrderDTO convertToDTO(Order order, List<OrderItem> items) {
         OrderDTO dto = new OrderDTO();
         dto.setId(order.getId());
@@ -0,0 +1,94 @@
+package com.fooddelivery.order.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of order_timeline ahead of the clock.
+ * Each run splits p_future into one partition per month up to months-ahead from now, so new rows never
+ * land in p_future and old months stay droppable one partition at a time. Does nothing when the table
+ * is not partitioned (created by Hibernate rather than sql/create-order-timeline.sql).
+ */
+@Component
+@Slf4j
+public class OrderTimelinePartitionMaintainer {
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p\\d{4}_\\d{2}");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'p'yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+
+    public OrderTimelinePartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${order.timeline.partitions.enabled:true}") boolean enabled,
+            @Value("${order.timeline.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        extendPartitions();
+    }
+
+    @Scheduled(cron = "${order.timeline.partitions.cron:0 17 3 * * *}")
+    public void extendPartitions() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            List<String> partitions = jdbcTemplate.queryForList(
+                    "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'order_timeline' AND PARTITION_NAME IS NOT NULL",
+                    String.class);
+            if (!partitions.contains(FUTURE_PARTITION)) {
+                log.debug("order_timeline has no {} partition, skipping partition maintenance", FUTURE_PARTITION);
+                return;
+            }
+
+            YearMonth last = partitions.stream()
+                    .filter(Objects::nonNull)
+                    .filter(name -> MONTH_PARTITION.matcher(name).matches())
+                    .map(name -> YearMonth.parse(name, PARTITION_MONTH))
+                    .max(YearMonth::compareTo)
+                    .orElse(null);
+            YearMonth now = YearMonth.now();
+            YearMonth through = now.plusMonths(monthsAhead);
+            // With no monthly partition yet, the first one also takes every earlier row
+            YearMonth next = last == null ? now : last.plusMonths(1);
+            if (next.isAfter(through)) {
+                return;
+            }
+
+            StringBuilder ddl = new StringBuilder("ALTER TABLE order_timeline REORGANIZE PARTITION ")
+                    .append(FUTURE_PARTITION).append(" INTO (");
+            for (YearMonth month = next; !month.isAfter(through); month = month.plusMonths(1)) {
+                ddl.append("PARTITION ").append(month.format(PARTITION_MONTH))
+                        .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+            }
+            ddl.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN (MAXVALUE))");
+            jdbcTemplate.execute(ddl.toString());
+            log.info("Extended order_timeline partitions from {} through {}", next, through);
+        } catch (DataAccessException e) {
+            // Another instance may have extended the table at the same time; the next run checks again
+            log.warn("order_timeline partition maintenance failed: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+}
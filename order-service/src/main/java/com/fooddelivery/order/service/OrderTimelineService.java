@@ -0,0 +1,60 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.dto.OrderTimelineEntryDTO;
+import com.fooddelivery.order.entity.OrderStatus;
+import com.fooddelivery.order.entity.OrderTimelineEntry;
+import com.fooddelivery.order.entity.TimelineSource;
+import com.fooddelivery.order.repository.OrderRepository;
+import com.fooddelivery.order.repository.OrderTimelineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes and reads the append-only order timeline.
+ * Recording requires an existing transaction so a transition and its timeline row commit together.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderTimelineService {
+
+    // Timeline rows are stamped just after the order row; the margin covers clock and rounding differences
+    private static final long CREATED_AT_MARGIN_MINUTES = 1;
+
+    private final OrderTimelineRepository timelineRepository;
+    private final OrderRepository orderRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long orderId, OrderStatus fromStatus, OrderStatus toStatus,
+                       TimelineSource source, Long actorId) {
+        if (fromStatus == toStatus) {
+            return;
+        }
+        timelineRepository.save(new OrderTimelineEntry(orderId, fromStatus, toStatus, source, actorId));
+        log.debug("Timeline: order {} {} -> {} by {} ({})", orderId, fromStatus, toStatus, source, actorId);
+    }
+
+    public List<OrderTimelineEntryDTO> getTimeline(Long orderId) {
+        LocalDateTime createdAt = orderRepository.findCreatedAtById(orderId).orElse(null);
+        if (createdAt == null) {
+            return List.of();
+        }
+        return timelineRepository.findByOrderIdSince(orderId, createdAt.minusMinutes(CREATED_AT_MARGIN_MINUTES))
+                .stream()
+                .map(entry -> new OrderTimelineEntryDTO(
+                        entry.getOrderId(),
+                        entry.getFromStatus(),
+                        entry.getToStatus(),
+                        entry.getSource(),
+                        entry.getActorId(),
+                        entry.getChangedAt()))
+                .collect(Collectors.toList());
+    }
+}
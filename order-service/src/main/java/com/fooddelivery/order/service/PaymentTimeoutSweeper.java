@@ -0,0 +1,131 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.entity.Order;
+import com.fooddelivery.order.entity.OrderStatus;
+import com.fooddelivery.order.entity.TimelineSource;
+import com.fooddelivery.order.producer.OrderEventProducer;
+import com.fooddelivery.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Expires orders abandoned in PAYMENT_PENDING.
+ * Candidates come from the (status, created_at) index in bounded batches; each order is moved to
+ * CANCELLED with a conditional update so a payment completing concurrently always wins.
+ */
+@Component
+@Slf4j
+public class PaymentTimeoutSweeper {
+
+    private final OrderRepository orderRepository;
+    private final Optional<OrderEventProducer> orderEventProducer;
+    private final RestaurantAdmissionService admissionService;
+    private final OrderTimelineService timelineService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final long timeoutMinutes;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public PaymentTimeoutSweeper(
+            OrderRepository orderRepository,
+            Optional<OrderEventProducer> orderEventProducer,
+            RestaurantAdmissionService admissionService,
+            OrderTimelineService timelineService,
+            TransactionTemplate transactionTemplate,
+            @Value("${order.payment-timeout.enabled:true}") boolean enabled,
+            @Value("${order.payment-timeout.minutes:30}") long timeoutMinutes,
+            @Value("${order.payment-timeout.batch-size:100}") int batchSize,
+            @Value("${order.payment-timeout.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.orderRepository = orderRepository;
+        this.orderEventProducer = orderEventProducer;
+        this.admissionService = admissionService;
+        this.timelineService = timelineService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.timeoutMinutes = timeoutMinutes;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${order.payment-timeout.sweep-interval-ms:60000}",
+               initialDelayString = "${order.payment-timeout.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(timeoutMinutes);
+        int totalExpired = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            BatchResult result = transactionTemplate.execute(status -> expireBatch(cutoff));
+            if (result == null) {
+                break;
+            }
+
+            result.expired.forEach(this::publishCancelled);
+            totalExpired += result.expired.size();
+
+            // A short batch means nothing older than the cutoff is left
+            if (result.scanned < batchSize) {
+                break;
+            }
+        }
+
+        if (totalExpired > 0) {
+            log.info("Expired {} orders stuck in PAYMENT_PENDING for more than {} minutes",
+                    totalExpired, timeoutMinutes);
+        }
+    }
+
+    private BatchResult expireBatch(LocalDateTime cutoff) {
+        List<Order> candidates = orderRepository.findByStatusCreatedBefore(
+                OrderStatus.PAYMENT_PENDING, cutoff, PageRequest.of(0, batchSize));
+
+        List<Order> expired = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Order order : candidates) {
+            int updated = orderRepository.transitionIfStatus(
+                    order.getId(), OrderStatus.PAYMENT_PENDING, OrderStatus.CANCELLED, "EXPIRED", now);
+            if (updated == 0) {
+                // Payment moved on between the scan and the update
+                continue;
+            }
+            // Entity is detached after the bulk update; mirror the new state for the event
+            order.setStatus(OrderStatus.CANCELLED);
+            order.setPaymentStatus("EXPIRED");
+            order.setUpdatedAt(now);
+
+            admissionService.onStatusChange(order.getRestaurantId(), OrderStatus.PAYMENT_PENDING, OrderStatus.CANCELLED);
+            timelineService.record(order.getId(), OrderStatus.PAYMENT_PENDING, OrderStatus.CANCELLED,
+                    TimelineSource.SYSTEM, null);
+            expired.add(order);
+        }
+        return new BatchResult(candidates.size(), expired);
+    }
+
+    private void publishCancelled(Order order) {
+        orderEventProducer.ifPresent(producer -> {
+            try {
+                producer.publishOrderCancelled(order);
+                log.info("Published ORDER_CANCELLED event for expired order: {}", order.getId());
+            } catch (Exception e) {
+                log.error("Failed to publish ORDER_CANCELLED event for expired order: {}", order.getId(), e);
+            }
+        });
+    }
+
+    private record BatchResult(int scanned, List<Order> expired) {
+    }
+}
@@ -0,0 +1,272 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.dto.RestaurantLoadDTO;
+import com.fooddelivery.order.entity.OrderStatus;
+import com.fooddelivery.order.exception.RestaurantBusyException;
+import com.fooddelivery.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Per-restaurant admission control for new orders.
+ * Each restaurant owns a bucket of kitchen tokens (its capacity). Placing an order takes a token,
+ * and the token is returned once the order leaves the kitchen (ready, cancelled, failed...).
+ * Counters are plain CAS loops, so the order path never blocks on a lock.
+ *
+ * Each instance keeps its own counters, but orders are admitted on one instance and often leave the
+ * kitchen through another (status updates, Kafka consumers, the timeout sweeper). Every slot is therefore
+ * reset to the cluster-wide in-flight count from the database on a schedule; between two reconciles an
+ * instance only sees its own admissions and transitions.
+ */
+@Service
+@Slf4j
+public class RestaurantAdmissionService {
+
+    /**
+     * Statuses in which an order still occupies the restaurant's kitchen
+     */
+    public static final Set<OrderStatus> IN_FLIGHT_STATUSES = EnumSet.of(
+            OrderStatus.PAYMENT_PENDING,
+            OrderStatus.PENDING,
+            OrderStatus.CONFIRMED,
+            OrderStatus.PREPARING
+    );
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate seedTransaction;
+    private final boolean enabled;
+    private final int defaultCapacity;
+    private final int retryAfterSeconds;
+
+    private final ConcurrentMap<Long, KitchenSlot> slots = new ConcurrentHashMap<>();
+
+    public RestaurantAdmissionService(
+            OrderRepository orderRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${order.admission.enabled:true}") boolean enabled,
+            @Value("${order.admission.default-capacity:25}") int defaultCapacity,
+            @Value("${order.admission.retry-after-seconds:60}") int retryAfterSeconds) {
+        this.orderRepository = orderRepository;
+        // Seeding must not see the caller's uncommitted rows: their deltas are applied after commit anyway
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+        this.seedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.seedTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.defaultCapacity = defaultCapacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Take a kitchen token for a new order, or reject with {@link RestaurantBusyException}.
+     * When called inside a transaction the token is handed back automatically on rollback.
+     */
+    public void admit(Long restaurantId) {
+        if (!enabled || restaurantId == null) {
+            return;
+        }
+
+        KitchenSlot slot = slotFor(restaurantId);
+        if (!slot.tryAcquire()) {
+            log.warn("Restaurant {} is at capacity ({}/{}), rejecting new order",
+                    restaurantId, slot.inFlight.get(), slot.capacity);
+            throw new RestaurantBusyException(restaurantId, retryAfterSeconds);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Not in the database until commit; a reconcile in between must keep counting it
+            slot.pending.incrementAndGet();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    slot.pending.decrementAndGet();
+                    if (status != STATUS_COMMITTED) {
+                        slot.release();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Record a status transition; returns the kitchen token when the order leaves the kitchen.
+     * Inside a transaction the release is deferred until commit.
+     */
+    public void onStatusChange(Long restaurantId, OrderStatus previousStatus, OrderStatus newStatus) {
+        if (!enabled || restaurantId == null) {
+            return;
+        }
+
+        boolean wasInFlight = previousStatus != null && IN_FLIGHT_STATUSES.contains(previousStatus);
+        boolean isInFlight = newStatus != null && IN_FLIGHT_STATUSES.contains(newStatus);
+        if (wasInFlight == isInFlight) {
+            return;
+        }
+
+        KitchenSlot slot = slotFor(restaurantId);
+        Runnable apply = isInFlight ? slot::forceAcquire : slot::release;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Override the kitchen capacity of a single restaurant
+     */
+    public RestaurantLoadDTO setCapacity(Long restaurantId, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        KitchenSlot slot = slotFor(restaurantId);
+        slot.capacity = capacity;
+        log.info("Admission capacity for restaurant {} set to {}", restaurantId, capacity);
+        return toDTO(restaurantId, slot);
+    }
+
+    public RestaurantLoadDTO getLoad(Long restaurantId) {
+        return toDTO(restaurantId, slotFor(restaurantId));
+    }
+
+    public List<RestaurantLoadDTO> getAllLoads() {
+        return slots.entrySet().stream()
+                .map(entry -> toDTO(entry.getKey(), entry.getValue()))
+                .sorted((a, b) -> Double.compare(b.getUtilization(), a.getUtilization()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reset every known slot to the in-flight orders in the database, which counts the transitions made on
+     * all instances. Drift from a transition committing while the count runs is corrected by the next run.
+     */
+    @Scheduled(fixedDelayString = "${order.admission.reconcile-interval-ms:10000}",
+               initialDelayString = "${order.admission.reconcile-interval-ms:10000}")
+    public void reconcile() {
+        if (!enabled || slots.isEmpty()) {
+            return;
+        }
+
+        List<Long> restaurantIds = new ArrayList<>(slots.keySet());
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int from = 0; from < restaurantIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = restaurantIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, restaurantIds.size()));
+            List<OrderRepository.RestaurantOrderCount> rows = seedTransaction.execute(
+                    status -> orderRepository.countByRestaurantIdsAndStatusIn(batch, IN_FLIGHT_STATUSES));
+            if (rows == null) {
+                return;
+            }
+            rows.forEach(row -> counts.put(row.getRestaurantId(), row.getOrderCount().intValue()));
+        }
+
+        int corrected = 0;
+        for (Long restaurantId : restaurantIds) {
+            KitchenSlot slot = slots.get(restaurantId);
+            if (slot != null && slot.reset(counts.getOrDefault(restaurantId, 0))) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.debug("Admission reconcile corrected {} of {} restaurant slots", corrected, restaurantIds.size());
+        }
+    }
+
+    private KitchenSlot slotFor(Long restaurantId) {
+        KitchenSlot slot = slots.get(restaurantId);
+        if (slot != null) {
+            return slot;
+        }
+        // Seed from the database so a restart does not forget orders already in the kitchen.
+        // Counted in a transaction of its own, so a status change flushed by the calling transaction
+        // is not counted here and again by its deferred onStatusChange delta.
+        Long count = seedTransaction.execute(
+                status -> orderRepository.countByRestaurantIdAndStatusIn(restaurantId, IN_FLIGHT_STATUSES));
+        int seeded = count == null ? 0 : count.intValue();
+        KitchenSlot created = new KitchenSlot(defaultCapacity, seeded);
+        KitchenSlot existing = slots.putIfAbsent(restaurantId, created);
+        return existing != null ? existing : created;
+    }
+
+    private RestaurantLoadDTO toDTO(Long restaurantId, KitchenSlot slot) {
+        int inFlight = slot.inFlight.get();
+        int capacity = slot.capacity;
+        return new RestaurantLoadDTO(
+                restaurantId,
+                inFlight,
+                capacity,
+                Math.max(0, capacity - inFlight),
+                capacity > 0 ? (double) inFlight / capacity : 1.0,
+                inFlight >= capacity
+        );
+    }
+
+    private static final class KitchenSlot {
+        private final AtomicInteger inFlight;
+        // Tokens taken by transactions that have not completed yet
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile int capacity;
+
+        private KitchenSlot(int capacity, int inFlight) {
+            this.capacity = capacity;
+            this.inFlight = new AtomicInteger(inFlight);
+        }
+
+        private boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= capacity) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean reset(int committedInFlight) {
+            int target = committedInFlight + pending.get();
+            return inFlight.getAndSet(target) != target;
+        }
+
+        private void forceAcquire() {
+            inFlight.incrementAndGet();
+        }
+
+        private void release() {
+            while (true) {
+                int current = inFlight.get();
+                if (current <= 0) {
+                    return;
+                }
+                if (inFlight.compareAndSet(current, current - 1)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.fooddelivery.order.service;
+
+import com.fooddelivery.order.dto.StockReservationRequest;
+import com.fooddelivery.order.dto.StockReservationResult;
+import com.fooddelivery.order.entity.OrderItem;
+import com.fooddelivery.order.util.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Holds daily stock of limited dishes in restaurant-service while an order is placed.
+ * Reservations are idempotent per order there, so the ORDER_CREATED consumer repeating one is harmless.
+ */
+@Service
+@Slf4j
+public class StockReservationClient {
+
+    private static final ParameterizedTypeReference<ApiResponse<StockReservationResult>> RESULT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RestTemplate restTemplate;
+    private final boolean enabled;
+    private final String restaurantServiceUrl;
+
+    public StockReservationClient(
+            RestTemplate restTemplate,
+            @Value("${order.stock.reserve-on-checkout:true}") boolean enabled,
+            @Value("${order.stock.restaurant-service-url:http://restaurant-service}") String restaurantServiceUrl) {
+        this.restTemplate = restTemplate;
+        this.enabled = enabled;
+        this.restaurantServiceUrl = restaurantServiceUrl;
+    }
+
+    /**
+     * Reserve the order's items, all or nothing. Returns null when restaurant-service could not be asked;
+     * the reservation is then left to the ORDER_CREATED event.
+     */
+    public StockReservationResult reserve(Long orderId, List<OrderItem> items) {
+        List<StockReservationRequest.Line> lines = items.stream()
+                .filter(item -> item.getMenuItemId() != null && item.getQuantity() != null && item.getQuantity() > 0)
+                .map(item -> new StockReservationRequest.Line(item.getMenuItemId(), item.getQuantity()))
+                .collect(Collectors.toList());
+        if (!enabled || lines.isEmpty()) {
+            return null;
+        }
+
+        try {
+            restTemplate.exchange(
+                    restaurantServiceUrl + "/api/menu/stock/reserve", HttpMethod.POST,
+                    new HttpEntity<>(new StockReservationRequest(orderId, lines)), RESULT_TYPE);
+            return new StockReservationResult(orderId, true, List.of());
+        } catch (HttpClientErrorException.Conflict e) {
+            ApiResponse<StockReservationResult> body = e.getResponseBodyAs(RESULT_TYPE);
+            List<Long> unavailable = body != null && body.getData() != null && body.getData().getUnavailableItemIds() != null
+                    ? body.getData().getUnavailableItemIds()
+                    : List.of();
+            return new StockReservationResult(orderId, false, unavailable);
+        } catch (RestClientException e) {
+            log.warn("Could not reserve stock for order {}, leaving it to ORDER_CREATED: {}", orderId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Give the order's stock back; idempotent in restaurant-service
+     */
+    public void release(Long orderId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            restTemplate.postForEntity(restaurantServiceUrl + "/api/menu/stock/release/" + orderId, null, Void.class);
+        } catch (RestClientException e) {
+            log.error("Failed to release stock for order {}", orderId, e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache for the hottest reads: filtered restaurant listings and versioned menu snapshots,
+ * both kept as serialized response bodies.
+ * Concurrent misses for the same key wait on a single load (Caffeine computes each key at most once).
+ * Entries are invalidated precisely after a local write commits, or when another instance reports
+ * a change over Kafka (see CacheInvalidationConsumer).
+ */
+@Component
+@Slf4j
+public class CatalogCache {
+
+    private final Cache<ListingKey, ListingPage> listings;
+    private final Cache<Long, MenuSnapshot> menus;
+
+    public CatalogCache(
+            @Value("${restaurant.cache.listings.max-size:2000}") long listingsMaxSize,
+            @Value("${restaurant.cache.listings.ttl-seconds:600}") long listingsTtlSeconds,
+            @Value("${restaurant.cache.menus.max-size:5000}") long menusMaxSize,
+            @Value("${restaurant.cache.menus.ttl-seconds:1800}") long menusTtlSeconds) {
+        // TTLs are only a safety net for a lost invalidation message
+        this.listings = Caffeine.newBuilder()
+                .maximumSize(listingsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(listingsTtlSeconds))
+                .recordStats()
+                .build();
+        this.menus = Caffeine.newBuilder()
+                .maximumSize(menusMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(menusTtlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * A listing page, rebuilt when current rejects the cached copy (its live delivery times have moved)
+     */
+    public SerializedResponse getListing(ListingKey key, Predicate<ListingPage> current, Supplier<ListingPage> loader) {
+        ListingPage page = listings.get(key, k -> loader.get());
+        if (!current.test(page)) {
+            listings.asMap().remove(key, page);
+            page = listings.get(key, k -> loader.get());
+        }
+        return page.response();
+    }
+
+    /**
+     * Current menu snapshot; an invalidation racing a load waits for it, so a stale version is never kept
+     */
+    public MenuSnapshot getMenu(Long restaurantId, Supplier<MenuSnapshot> loader) {
+        return menus.get(restaurantId, k -> loader.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("Invalidating catalog cache: kind={}, restaurantId={}, remote={}",
+                event.getKind(), event.getRestaurantId(), event.isRemote());
+        if (event.getKind() == CatalogChangedEvent.Kind.MENU_ITEM) {
+            menus.invalidate(event.getRestaurantId());
+            return;
+        }
+        // A restaurant can only appear in listings that are unfiltered or filtered by one of its cuisines
+        Set<String> cuisines = event.getCuisines();
+        listings.asMap().keySet().removeIf(key -> key.cuisine() == null
+                || cuisines == null
+                || cuisines.isEmpty()
+                || cuisines.contains(key.cuisine()));
+        menus.invalidate(event.getRestaurantId());
+    }
+
+    /**
+     * A serialized listing page and, per restaurant on it, the minutes kitchen load added to the delivery
+     * time it shows
+     */
+    public record ListingPage(SerializedResponse response, Map<Long, Integer> extraMinutes) {
+    }
+
+    /**
+     * Cache key for one filtered listing page.
+     * openMinute is the minute of the week the open filter was evaluated at (null when not filtering),
+     * so "open now" pages roll over with the clock. slowerIds are the restaurants kitchen load pushed over
+     * maxDeliveryTime (empty when not filtering), so only a change in who passes the filter selects new pages.
+     * cursor is null for numbered pages.
+     */
+    public record ListingKey(String cuisine, Double minRating, Integer maxDeliveryTime,
+                             Integer openMinute, String sortBy, int page, int size, Set<Long> slowerIds,
+                             String view, String cursor) {
+
+        public static ListingKey of(String cuisine, Double minRating, Integer maxDeliveryTime,
+                                    Integer openMinute, String sortBy, int page, int size, Set<Long> slowerIds,
+                                    String view, String cursor) {
+            return new ListingKey(
+                    cuisine == null || cuisine.isEmpty() ? null : cuisine.toLowerCase(),
+                    minRating,
+                    maxDeliveryTime,
+                    openMinute,
+                    sortBy == null ? null : sortBy.toLowerCase(),
+                    page,
+                    size,
+                    slowerIds == null ? Set.of() : Set.copyOf(slowerIds),
+                    view,
+                    cursor);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary copy of the active catalog on local disk, read back through a memory-mapped buffer.
+ *
+ * Layout: magic, format, the catalog version the copy was taken at, restaurants, menu items, then a CRC-32
+ * of everything before it. Strings are length-prefixed UTF-8 and nullable values carry a presence byte.
+ * Files are replaced atomically, so a reader sees either the previous snapshot or the new one; a truncated
+ * or foreign file fails the checksum or magic check and is rejected as a whole.
+ */
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x52435331; // "RCS1"
+    private static final int FORMAT = 2; // 2: stock pools moved out of menu items
+
+    /**
+     * What the database looked like when the snapshot was taken; a snapshot is only usable while it is unchanged
+     */
+    public record Version(long restaurantCount, long menuVersionSum, long reviewSum, LocalDateTime restaurantsUpdatedAt,
+                          long menuItemCount, LocalDateTime menuItemsUpdatedAt) {
+    }
+
+    /**
+     * Active restaurants and available menu items, as detached entities
+     */
+    public record Contents(Version version, LocalDateTime takenAt, List<Restaurant> restaurants,
+                           List<MenuItem> menuItems) {
+    }
+
+    private CatalogSnapshotFile() {
+    }
+
+    public static void write(Path path, Contents contents) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            writeVersion(out, contents.version());
+            writeDateTime(out, contents.takenAt());
+            out.writeInt(contents.restaurants().size());
+            for (Restaurant restaurant : contents.restaurants()) {
+                writeRestaurant(out, restaurant);
+            }
+            out.writeInt(contents.menuItems().size());
+            for (MenuItem menuItem : contents.menuItems()) {
+                writeMenuItem(out, menuItem);
+            }
+            out.writeLong(crc.getValue());
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Contents read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 16 || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected catalog snapshot size " + size);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        int end = buffer.capacity() - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(end));
+        if (crc.getValue() != buffer.getLong(end)) {
+            throw new IOException("Catalog snapshot checksum mismatch");
+        }
+        buffer.limit(end);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+            throw new IOException("Not a catalog snapshot in format " + FORMAT);
+        }
+
+        Version version = readVersion(buffer);
+        LocalDateTime takenAt = readDateTime(buffer);
+        int restaurantCount = buffer.getInt();
+        List<Restaurant> restaurants = new ArrayList<>(restaurantCount);
+        for (int i = 0; i < restaurantCount; i++) {
+            restaurants.add(readRestaurant(buffer));
+        }
+        int menuItemCount = buffer.getInt();
+        List<MenuItem> menuItems = new ArrayList<>(menuItemCount);
+        for (int i = 0; i < menuItemCount; i++) {
+            menuItems.add(readMenuItem(buffer));
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("Unexpected trailing data in catalog snapshot");
+        }
+        return new Contents(version, takenAt, List.copyOf(restaurants), List.copyOf(menuItems));
+    }
+
+    private static void writeVersion(DataOutputStream out, Version version) throws IOException {
+        out.writeLong(version.restaurantCount());
+        out.writeLong(version.menuVersionSum());
+        out.writeLong(version.reviewSum());
+        writeDateTime(out, version.restaurantsUpdatedAt());
+        out.writeLong(version.menuItemCount());
+        writeDateTime(out, version.menuItemsUpdatedAt());
+    }
+
+    private static Version readVersion(ByteBuffer in) {
+        return new Version(in.getLong(), in.getLong(), in.getLong(), readDateTime(in), in.getLong(), readDateTime(in));
+    }
+
+    private static void writeRestaurant(DataOutputStream out, Restaurant r) throws IOException {
+        writeLong(out, r.getId());
+        writeLong(out, r.getOwnerId());
+        writeString(out, r.getName());
+        writeString(out, r.getDescription());
+        writeString(out, r.getAddress());
+        writeString(out, r.getPhone());
+        writeString(out, r.getEmail());
+        writeString(out, r.getImageUrl());
+        writeString(out, r.getCuisine());
+        writeDouble(out, r.getRating());
+        writeInt(out, r.getTotalReviews());
+        writeBoolean(out, r.getIsActive());
+        writeString(out, r.getOpeningTime());
+        writeString(out, r.getClosingTime());
+        writeString(out, r.getOpeningHours());
+        writeDouble(out, r.getDeliveryFee());
+        writeInt(out, r.getEstimatedDeliveryTime());
+        writeDouble(out, r.getLatitude());
+        writeDouble(out, r.getLongitude());
+        writeDouble(out, r.getDeliveryRadiusKm());
+        writeLong(out, r.getMenuVersion());
+        writeDateTime(out, r.getCreatedAt());
+        writeDateTime(out, r.getUpdatedAt());
+    }
+
+    private static Restaurant readRestaurant(ByteBuffer in) {
+        Restaurant r = new Restaurant();
+        r.setId(readLong(in));
+        r.setOwnerId(readLong(in));
+        r.setName(readString(in));
+        r.setDescription(readString(in));
+        r.setAddress(readString(in));
+        r.setPhone(readString(in));
+        r.setEmail(readString(in));
+        r.setImageUrl(readString(in));
+        r.setCuisine(readString(in));
+        r.setRating(readDouble(in));
+        r.setTotalReviews(readInt(in));
+        r.setIsActive(readBoolean(in));
+        r.setOpeningTime(readString(in));
+        r.setClosingTime(readString(in));
+        r.setOpeningHours(readString(in));
+        r.setDeliveryFee(readDouble(in));
+        r.setEstimatedDeliveryTime(readInt(in));
+        r.setLatitude(readDouble(in));
+        r.setLongitude(readDouble(in));
+        r.setDeliveryRadiusKm(readDouble(in));
+        r.setMenuVersion(readLong(in));
+        r.setCreatedAt(readDateTime(in));
+        r.setUpdatedAt(readDateTime(in));
+        return r;
+    }
+
+    private static void writeMenuItem(DataOutputStream out, MenuItem m) throws IOException {
+        writeLong(out, m.getId());
+        writeLong(out, m.getRestaurantId());
+        writeString(out, m.getName());
+        writeString(out, m.getDescription());
+        writeDouble(out, m.getPrice());
+        writeString(out, m.getImageUrl());
+        writeString(out, m.getCategory());
+        writeBoolean(out, m.getIsVegetarian());
+        writeBoolean(out, m.getIsAvailable());
+        writeInt(out, m.getDailyStock());
+        writeBoolean(out, m.getSoldOut());
+        writeDateTime(out, m.getCreatedAt());
+        writeDateTime(out, m.getUpdatedAt());
+    }
+
+    private static MenuItem readMenuItem(ByteBuffer in) {
+        MenuItem m = new MenuItem();
+        m.setId(readLong(in));
+        m.setRestaurantId(readLong(in));
+        m.setName(readString(in));
+        m.setDescription(readString(in));
+        m.setPrice(readDouble(in));
+        m.setImageUrl(readString(in));
+        m.setCategory(readString(in));
+        m.setIsVegetarian(readBoolean(in));
+        m.setIsAvailable(readBoolean(in));
+        m.setDailyStock(readInt(in));
+        m.setSoldOut(readBoolean(in));
+        m.setCreatedAt(readDateTime(in));
+        m.setUpdatedAt(readDateTime(in));
+        return m;
+    }
+
+    // Nullable values: a presence byte (for strings, a length of -1), then the value when present
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInt(ByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(ByteBuffer in) {
+        return in.get() != 0 ? in.getDouble() : null;
+    }
+
+    // Absent, false, true
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    private static Boolean readBoolean(ByteBuffer in) {
+        byte value = in.get();
+        return value == 0 ? null : value == 2;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        long seconds = in.getLong();
+        return LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,60 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Drops second-level cache entries for writes Hibernate did not make itself. Local entity writes are evicted
+ * by Hibernate; remote ones only reach this instance as cache-invalidation events, and local raw JDBC writes
+ * (menu imports) not at all. Both must be evicted before their CatalogChangedEvent is published, so listeners
+ * reloading from the database see the new rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictRemoteChange(CatalogChangedEvent.Kind kind, Long restaurantId, Long menuItemId) {
+        try {
+            jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+            // Menu changes also bump the restaurant's menu version
+            cache.evict(Restaurant.class, restaurantId);
+            if (kind == CatalogChangedEvent.Kind.MENU_ITEM) {
+                if (menuItemId != null) {
+                    cache.evict(MenuItem.class, menuItemId);
+                } else {
+                    // Whole-menu change (e.g. an import): the affected ids are unknown here
+                    cache.evict(MenuItem.class);
+                }
+            }
+            // Cached query results are only checked against local table updates
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        } catch (Exception e) {
+            log.error("Failed to evict second-level cache for restaurant {}", restaurantId, e);
+            entityManagerFactory.getCache().evictAll();
+        }
+    }
+
+    /**
+     * Menu items this instance changed through JDBC; items inserted that way were never cached
+     */
+    public void evictMenuItems(Long restaurantId, Collection<Long> menuItemIds) {
+        try {
+            jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+            menuItemIds.forEach(id -> cache.evict(MenuItem.class, id));
+        } catch (Exception e) {
+            log.error("Failed to evict second-level cache for the menu of restaurant {}", restaurantId, e);
+            entityManagerFactory.getCache().evict(MenuItem.class);
+        }
+    }
+}
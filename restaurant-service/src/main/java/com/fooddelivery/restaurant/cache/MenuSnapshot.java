@@ -0,0 +1,39 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fooddelivery.restaurant.dto.MenuItemDTO;
+
+import java.util.List;
+
+/**
+ * One version of a restaurant's menu together with its serialized response body.
+ * The ETag is derived from the version alone, so conditional requests are answered without
+ * loading or serializing anything. It is weak because the envelope timestamp differs between responses.
+ */
+public record MenuSnapshot(Long restaurantId, long version, List<MenuItemDTO> items, String etag,
+                           SerializedResponse body) {
+
+    public static String etagFor(Long restaurantId, long version) {
+        return "W/\"menu-" + restaurantId + "-" + version + "\"";
+    }
+
+    /**
+     * If-None-Match check using weak comparison, as RFC 9110 requires for this header
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
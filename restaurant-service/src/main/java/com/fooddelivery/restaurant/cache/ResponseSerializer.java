@@ -0,0 +1,133 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.restaurant.util.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Turns cacheable responses into SerializedResponse bodies, and writes them out with a fresh timestamp,
+ * gzip-encoded when the client accepts it. Uses the application's ObjectMapper, so the bytes are exactly
+ * what Spring MVC would have written.
+ */
+@Component
+public class ResponseSerializer {
+
+    // Serialized in place of the real timestamp, then located in the output to split it
+    private static final LocalDateTime PLACEHOLDER = LocalDateTime.of(1970, 1, 1, 0, 0, 0, 123456789);
+
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+    private final int gzipLevel;
+    private final int gzipMinBytes;
+    private final byte[] placeholder;
+
+    public ResponseSerializer(
+            ObjectMapper objectMapper,
+            @Value("${restaurant.cache.responses.gzip:true}") boolean gzip,
+            @Value("${restaurant.cache.responses.gzip-level:6}") int gzipLevel,
+            @Value("${restaurant.cache.responses.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.gzipLevel = gzipLevel;
+        this.gzipMinBytes = gzipMinBytes;
+        this.placeholder = write(PLACEHOLDER);
+    }
+
+    /**
+     * A successful ApiResponse envelope around data, as cacheable bytes
+     */
+    public SerializedResponse serialize(Object data, String message) {
+        byte[] body = write(new ApiResponse<>(true, data, message, PLACEHOLDER));
+        // The timestamp is the envelope's last field, so its placeholder is the last occurrence
+        int at = lastIndexOf(body, placeholder);
+        if (at < 0) {
+            throw new IllegalStateException("Timestamp placeholder not found in serialized response");
+        }
+        byte[] head = new byte[at];
+        byte[] tail = new byte[body.length - at - placeholder.length];
+        System.arraycopy(body, 0, head, 0, head.length);
+        System.arraycopy(body, at + placeholder.length, tail, 0, tail.length);
+        return new SerializedResponse(head, tail, gzip && body.length >= gzipMinBytes, gzipLevel);
+    }
+
+    /**
+     * Complete the builder with the body stamped with the current time
+     */
+    public ResponseEntity<byte[]> write(ResponseEntity.BodyBuilder builder, SerializedResponse body, String acceptEncoding) {
+        byte[] timestamp = write(LocalDateTime.now());
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (body.hasGzip() && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.renderGzip(timestamp));
+        }
+        return builder.body(body.render(timestamp));
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    /**
+     * Accept-Encoding allows gzip: listed with a non-zero q, or not listed and covered by a non-zero *
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean wildcard = null;
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.split(";");
+            String coding = parts[0].trim();
+            boolean isGzip = coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip");
+            if (!isGzip && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2).trim()) <= 0.0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (isGzip) {
+                gzip = !refused;
+            } else {
+                wildcard = !refused;
+            }
+        }
+        // An explicit gzip entry wins over *
+        return gzip != null ? gzip : Boolean.TRUE.equals(wildcard);
+    }
+
+    private static int lastIndexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = data.length - pattern.length; i >= 0; i--) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
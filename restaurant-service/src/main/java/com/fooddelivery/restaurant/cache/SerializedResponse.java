@@ -0,0 +1,121 @@
+package com.fooddelivery.restaurant.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An ApiResponse envelope serialized once and split around its timestamp, so each response only
+ * splices in the current time. Instances are immutable and shared between requests.
+ *
+ * The gzip form keeps the parts before and after the timestamp as raw deflate data. A response is
+ * assembled as a single gzip member: header, compressed head (flushed to a byte boundary), the
+ * timestamp in a stored block, compressed tail, then the CRC-32 and length of the whole body.
+ * Nothing is compressed per request; only the CRC is computed, over the plain bytes.
+ */
+public final class SerializedResponse {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final byte[] head;
+    private final byte[] tail;
+    private final byte[] gzipHead; // null when not compressed
+    private final byte[] gzipTail;
+
+    SerializedResponse(byte[] head, byte[] tail, boolean gzip, int gzipLevel) {
+        this.head = head;
+        this.tail = tail;
+        this.gzipHead = gzip ? deflate(head, gzipLevel, false) : null;
+        this.gzipTail = gzip ? deflate(tail, gzipLevel, true) : null;
+    }
+
+    public boolean hasGzip() {
+        return gzipHead != null;
+    }
+
+    /**
+     * Cached bytes, for sizing
+     */
+    public int size() {
+        return head.length + tail.length
+                + (gzipHead == null ? 0 : gzipHead.length + gzipTail.length);
+    }
+
+    /**
+     * The JSON body with the given serialized timestamp
+     */
+    public byte[] render(byte[] timestamp) {
+        byte[] body = new byte[head.length + timestamp.length + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(timestamp, 0, body, head.length, timestamp.length);
+        System.arraycopy(tail, 0, body, head.length + timestamp.length, tail.length);
+        return body;
+    }
+
+    /**
+     * The same body as render(timestamp), gzip-encoded
+     */
+    public byte[] renderGzip(byte[] timestamp) {
+        if (gzipHead == null) {
+            throw new IllegalStateException("Response was not prepared for gzip");
+        }
+        if (timestamp.length > 0xffff) {
+            throw new IllegalArgumentException("Timestamp does not fit a stored block");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(head);
+        crc.update(timestamp);
+        crc.update(tail);
+        long plainLength = (long) head.length + timestamp.length + tail.length;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                GZIP_HEADER.length + gzipHead.length + 5 + timestamp.length + gzipTail.length + 8);
+        out.writeBytes(GZIP_HEADER);
+        out.writeBytes(gzipHead);
+        // Stored block, not final: header byte, LEN and its complement (little-endian), raw data
+        out.write(0);
+        writeShort(out, timestamp.length);
+        writeShort(out, ~timestamp.length & 0xffff);
+        out.writeBytes(timestamp);
+        out.writeBytes(gzipTail);
+        writeInt(out, crc.getValue());
+        writeInt(out, plainLength);
+        return out.toByteArray();
+    }
+
+    /**
+     * Raw deflate data; the head ends with a sync flush so more blocks can follow,
+     * the tail ends the stream
+     */
+    private static byte[] deflate(byte[] input, int level, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(input);
+            if (last) {
+                deflater.finish();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[8192];
+            while (true) {
+                int written = deflater.deflate(buffer, 0, buffer.length, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, written);
+                if (last ? deflater.finished() : written < buffer.length) {
+                    return out.toByteArray();
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, long value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            out.write((int) (value >>> shift) & 0xff);
+        }
+    }
+}
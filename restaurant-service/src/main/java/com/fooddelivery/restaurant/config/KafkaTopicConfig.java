@@ -0,0 +1,42 @@
+package com.fooddelivery.restaurant.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+    
+    // Topic names
+    public static final String CACHE_INVALIDATION_TOPIC = "restaurant-cache-invalidation";
+    public static final String RESTAURANT_CHANGES_TOPIC = "restaurant-changes";
+    public static final String MENU_ITEM_CHANGES_TOPIC = "menu-item-changes";
+    
+    @Bean
+    public NewTopic cacheInvalidationTopic() {
+        return TopicBuilder.name(CACHE_INVALIDATION_TOPIC)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+    
+    // Change topics are compacted: the latest record per entity id is kept forever
+    @Bean
+    public NewTopic restaurantChangesTopic() {
+        return TopicBuilder.name(RESTAURANT_CHANGES_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+    
+    @Bean
+    public NewTopic menuItemChangesTopic() {
+        return TopicBuilder.name(MENU_ITEM_CHANGES_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+}
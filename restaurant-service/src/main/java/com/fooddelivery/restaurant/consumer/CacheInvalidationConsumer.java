@@ -0,0 +1,47 @@
+package com.fooddelivery.restaurant.consumer;
+
+import com.fooddelivery.restaurant.cache.EntityCacheEvictor;
+import com.fooddelivery.restaurant.config.KafkaTopicConfig;
+import com.fooddelivery.restaurant.event.CacheInvalidationEvent;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.producer.CacheInvalidationProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Receives catalog changes made on other restaurant-service instances and replays them locally,
+ * so every in-memory cache and index stays in sync
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationConsumer {
+    
+    private final CacheInvalidationProducer cacheInvalidationProducer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityCacheEvictor entityCacheEvictor;
+    
+    @KafkaListener(
+        topics = KafkaTopicConfig.CACHE_INVALIDATION_TOPIC,
+        groupId = "restaurant-service-cache-${random.uuid}",
+        containerFactory = "cacheInvalidationKafkaListenerContainerFactory"
+    )
+    public void consumeInvalidation(CacheInvalidationEvent event) {
+        if (cacheInvalidationProducer.getInstanceId().equals(event.getOriginInstanceId())) {
+            return;
+        }
+        log.debug("Remote catalog change: kind={}, restaurantId={}, menuItemId={}",
+                event.getKind(), event.getRestaurantId(), event.getMenuItemId());
+        
+        entityCacheEvictor.evictRemoteChange(event.getKind(), event.getRestaurantId(), event.getMenuItemId());
+        eventPublisher.publishEvent(new CatalogChangedEvent(
+                event.getKind(),
+                event.getRestaurantId(),
+                event.getMenuItemId(),
+                event.getCuisines(),
+                true));
+    }
+}
@@ -0,0 +1,42 @@
+package com.fooddelivery.restaurant.consumer;
+
+import com.fooddelivery.restaurant.event.OrderEvent;
+import com.fooddelivery.restaurant.service.KitchenLoadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Service;
+
+/**
+ * Feeds order lifecycle events into the in-memory kitchen load signal
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KitchenLoadConsumer {
+    
+    private final KitchenLoadService kitchenLoadService;
+    
+    @KafkaListener(
+        topics = {"order-confirmed", "order-preparing", "order-ready-for-pickup", "order-cancelled"},
+        groupId = "restaurant-service-load-${random.uuid}",
+        containerFactory = "kitchenLoadKafkaListenerContainerFactory"
+    )
+    public void consumeOrderEvent(OrderEvent event, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        try {
+            switch (topic) {
+                case "order-confirmed", "order-preparing" ->
+                        kitchenLoadService.orderStarted(event.getOrderId(), event.getRestaurantId(), event.getTimestamp());
+                case "order-ready-for-pickup" ->
+                        kitchenLoadService.orderReady(event.getOrderId(), event.getTimestamp());
+                case "order-cancelled" ->
+                        kitchenLoadService.orderDropped(event.getOrderId());
+                default -> log.debug("Ignoring event from topic {}", topic);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error updating kitchen load from {} for order: {}", topic, event.getOrderId(), e);
+        }
+    }
+}
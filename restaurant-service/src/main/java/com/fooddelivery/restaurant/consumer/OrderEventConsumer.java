@@ -0,0 +1,106 @@
+package com.fooddelivery.restaurant.consumer;
+
+import com.fooddelivery.restaurant.dto.StockReservationRequest;
+import com.fooddelivery.restaurant.dto.StockReservationResult;
+import com.fooddelivery.restaurant.entity.DeliveredOrder;
+import com.fooddelivery.restaurant.event.OrderEvent;
+import com.fooddelivery.restaurant.repository.DeliveredOrderRepository;
+import com.fooddelivery.restaurant.service.StockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventConsumer {
+    
+    private final DeliveredOrderRepository deliveredOrderRepository;
+    private final StockService stockService;
+    
+    /**
+     * Hold daily stock for limited dishes of a new order. order-service normally reserves synchronously through
+     * /api/menu/stock/reserve at checkout and the reservation is idempotent per order, so this only takes effect
+     * when that call could not reach us.
+     */
+    @KafkaListener(
+        topics = "order-created",
+        groupId = "restaurant-service-group",
+        containerFactory = "orderEventKafkaListenerContainerFactory"
+    )
+    public void consumeOrderCreated(OrderEvent event) {
+        try {
+            if (event.getOrderId() == null || event.getItems() == null || event.getItems().isEmpty()) {
+                return;
+            }
+            List<StockReservationRequest.Line> lines = event.getItems().stream()
+                    .filter(item -> item.getMenuItemId() != null && item.getQuantity() != null && item.getQuantity() > 0)
+                    .map(item -> new StockReservationRequest.Line(item.getMenuItemId(), item.getQuantity()))
+                    .collect(Collectors.toList());
+            if (lines.isEmpty()) {
+                return;
+            }
+            StockReservationResult result = stockService.reserve(new StockReservationRequest(event.getOrderId(), lines));
+            if (!result.getReserved()) {
+                log.warn("⚠️ Order {} includes items out of stock: {}", event.getOrderId(), result.getUnavailableItemIds());
+            }
+        } catch (Exception e) {
+            log.error("❌ Error reserving stock for order: {}", event.getOrderId(), e);
+        }
+    }
+    
+    @KafkaListener(
+        topics = "order-cancelled",
+        groupId = "restaurant-service-group",
+        containerFactory = "orderEventKafkaListenerContainerFactory"
+    )
+    public void consumeOrderCancelled(OrderEvent event) {
+        try {
+            int released = stockService.release(event.getOrderId());
+            if (released > 0) {
+                log.info("✅ Released stock of {} item(s) for cancelled order {}", released, event.getOrderId());
+            }
+        } catch (Exception e) {
+            log.error("❌ Error releasing stock for order: {}", event.getOrderId(), e);
+        }
+    }
+    
+    /**
+     * Remember delivered orders so their customers can review them
+     */
+    @KafkaListener(
+        topics = "order-delivered",
+        groupId = "restaurant-service-group",
+        containerFactory = "orderEventKafkaListenerContainerFactory"
+    )
+    public void consumeOrderDelivered(OrderEvent event) {
+        try {
+            log.info("📦 Received ORDER_DELIVERED event: orderId={}, restaurantId={}",
+                    event.getOrderId(), event.getRestaurantId());
+            
+            if (event.getOrderId() == null || event.getUserId() == null || event.getRestaurantId() == null) {
+                log.warn("⚠️ Incomplete ORDER_DELIVERED event ignored: {}", event);
+                return;
+            }
+            if (deliveredOrderRepository.existsById(event.getOrderId())) {
+                return;
+            }
+            
+            deliveredOrderRepository.save(new DeliveredOrder(
+                    event.getOrderId(),
+                    event.getUserId(),
+                    event.getRestaurantId(),
+                    event.getTimestamp()));
+            
+            log.info("✅ Order {} is now eligible for review", event.getOrderId());
+            
+        } catch (Exception e) {
+            log.error("❌ Error processing ORDER_DELIVERED event for order: {}",
+                    event.getOrderId(), e);
+        }
+    }
+}
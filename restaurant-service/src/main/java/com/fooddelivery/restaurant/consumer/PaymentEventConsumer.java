@@ -0,0 +1,40 @@
+package com.fooddelivery.restaurant.consumer;
+
+import com.fooddelivery.restaurant.event.PaymentEvent;
+import com.fooddelivery.restaurant.service.StockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentEventConsumer {
+    
+    private final StockService stockService;
+    
+    /**
+     * Orders whose payment failed or was refunded will not be cooked; give their stock back.
+     * Releasing is idempotent, so redelivered events are harmless.
+     */
+    @KafkaListener(
+        topics = {"payment-failed", "payment-refunded"},
+        groupId = "restaurant-service-group",
+        containerFactory = "paymentEventKafkaListenerContainerFactory"
+    )
+    public void consumePaymentFailedOrRefunded(PaymentEvent event) {
+        try {
+            if (event.getOrderId() == null) {
+                return;
+            }
+            int released = stockService.release(event.getOrderId());
+            if (released > 0) {
+                log.info("✅ Released stock of {} item(s) for order {} after {}",
+                        released, event.getOrderId(), event.getEventType());
+            }
+        } catch (Exception e) {
+            log.error("❌ Error releasing stock for order: {}", event.getOrderId(), e);
+        }
+    }
+}
@@ -1,13 +1,35 @@
 package com.fooddelivery.restaurant.controller;
 
+import com.fooddelivery.restaurant.cache.MenuSnapshot;
+import com.fooddelivery.restaurant.cache.ResponseSerializer;
+import com.fooddelivery.restaurant.dto.MenuFacetsDTO;
+import com.fooddelivery.restaurant.dto.MenuImportResult;
+import com.fooddelivery.restaurant.dto.MenuItemBatchRequest;
+import com.fooddelivery.restaurant.dto.MenuItemBatchResult;
 import com.fooddelivery.restaurant.dto.MenuItemDTO;
+import com.fooddelivery.restaurant.dto.StockReservationRequest;
+import com.fooddelivery.restaurant.dto.StockReservationResult;
+import com.fooddelivery.restaurant.service.FacetService;
+import com.fooddelivery.restaurant.service.MenuImportExportService;
 import com.fooddelivery.restaurant.service.MenuItemService;
+import com.fooddelivery.restaurant.service.StockService;
 import com.fooddelivery.restaurant.util.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/menu")
@@ -15,11 +37,95 @@ import java.util.List;
 public class MenuItemController {
     
     private final MenuItemService menuItemService;
+    private final MenuImportExportService menuImportExportService;
+    private final StockService stockService;
+    private final FacetService facetService;
+    private final ResponseSerializer responseSerializer;
     
+    /**
+     * Served from the cached, pre-serialized (and pre-compressed) menu snapshot; a matching If-None-Match gets 304
+     */
     @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<ApiResponse<List<MenuItemDTO>>> getMenuByRestaurant(@PathVariable Long restaurantId) {
-        List<MenuItemDTO> menuItems = menuItemService.getMenuItemsByRestaurant(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(menuItems, "Menu items retrieved successfully"));
+    public ResponseEntity<byte[]> getMenuByRestaurant(
+            @PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MenuSnapshot snapshot = menuItemService.getMenuSnapshot(restaurantId);
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return responseSerializer.write(ResponseEntity.ok()
+                        .eTag(snapshot.etag())
+                        .cacheControl(CacheControl.noCache()),
+                snapshot.body(), acceptEncoding);
+    }
+    
+    /**
+     * Live stock of the menu's limited items (item id to units left), which the cached menu leaves out
+     */
+    @GetMapping("/restaurant/{restaurantId}/stock")
+    public ResponseEntity<ApiResponse<Map<Long, Integer>>> getMenuStock(@PathVariable Long restaurantId) {
+        Map<Long, Integer> stock = menuItemService.getStockRemaining(restaurantId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(ApiResponse.success(stock, "Menu stock retrieved successfully"));
+    }
+    
+    /**
+     * Bulk upsert from a streamed CSV (text/csv, header row required) or NDJSON (application/x-ndjson) body.
+     * Items are matched by id, or by name within the restaurant, and inserted otherwise; updated items keep the
+     * optional fields the input leaves out or empty.
+     */
+    @PostMapping("/restaurant/{restaurantId}/import")
+    public ResponseEntity<ApiResponse<MenuImportResult>> importMenu(
+            @PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            HttpServletRequest request) {
+        try {
+            MenuImportExportService.Format format = MenuImportExportService.Format.fromContentType(contentType);
+            MenuImportResult result = menuImportExportService.importMenu(restaurantId, format,
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+            return ResponseEntity.ok(ApiResponse.success(result, "Menu import completed"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error("Failed to read upload: " + e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Streams every item of the menu (including unavailable ones) as csv or ndjson, in the import layout
+     */
+    @GetMapping("/restaurant/{restaurantId}/export")
+    public ResponseEntity<?> exportMenu(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false, defaultValue = "csv") String format) {
+        MenuImportExportService.Format exportFormat;
+        try {
+            exportFormat = MenuImportExportService.Format.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+        StreamingResponseBody body = output -> menuImportExportService.exportMenu(restaurantId, exportFormat, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"menu-" + restaurantId + "." + exportFormat.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+    
+    /**
+     * The menu's categories in menu order, with item and vegetarian counts; served from memory
+     */
+    @GetMapping("/restaurant/{restaurantId}/categories")
+    public ResponseEntity<ApiResponse<MenuFacetsDTO>> getMenuCategories(@PathVariable Long restaurantId) {
+        MenuFacetsDTO facets = facetService.getMenuFacets(restaurantId);
+        return ResponseEntity.ok(ApiResponse.success(facets, "Menu categories retrieved successfully"));
     }
     
     @GetMapping("/restaurant/{restaurantId}/category/{category}")
@@ -30,6 +136,31 @@ public class MenuItemController {
         return ResponseEntity.ok(ApiResponse.success(menuItems, "Menu items retrieved successfully"));
     }
     
+    /**
+     * Batch lookup for service-to-service validation, e.g. order-service checking an order's lines.
+     * Body: {"ids": [12, 15, 40]}, at most MenuItemService.MAX_BATCH_SIZE distinct ids.
+     * Returns {id, restaurantId, name, price, isAvailable} per found item in request order, plus the
+     * ids that do not exist; callers should check restaurantId and isAvailable themselves.
+     * Answered with a single query whatever the number of ids.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<MenuItemBatchResult>> getMenuItemsByIds(@RequestBody MenuItemBatchRequest request) {
+        try {
+            MenuItemBatchResult result = menuItemService.getMenuItemsByIds(request.getIds());
+            return ResponseEntity.ok(ApiResponse.success(result, "Menu items retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Same as POST /batch for short lists: /api/menu/batch?ids=12,15,40
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<MenuItemBatchResult>> getMenuItemsByIdsQuery(@RequestParam List<Long> ids) {
+        return getMenuItemsByIds(new MenuItemBatchRequest(ids));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<MenuItemDTO>> getMenuItemById(@PathVariable Long id) {
         try {
@@ -55,6 +186,8 @@ public class MenuItemController {
         try {
             MenuItemDTO updated = menuItemService.updateMenuItem(id, menuItemDTO);
             return ResponseEntity.ok(ApiResponse.success(updated, "Menu item updated successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
         }
@@ -69,4 +202,31 @@ public class MenuItemController {
             return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    /**
+     * Hold daily stock of limited dishes for an order, all or nothing; 409 lists the items that cannot be supplied.
+     * Idempotent per orderId.
+     */
+    @PostMapping("/stock/reserve")
+    public ResponseEntity<ApiResponse<StockReservationResult>> reserveStock(@RequestBody StockReservationRequest request) {
+        try {
+            StockReservationResult result = stockService.reserve(request);
+            if (!result.getReserved()) {
+                return ResponseEntity.status(409).body(new ApiResponse<>(false, result,
+                        "Some items are unavailable or out of stock", LocalDateTime.now()));
+            }
+            return ResponseEntity.ok(ApiResponse.success(result, "Stock reserved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Give an order's stock back (e.g. on cancellation); idempotent
+     */
+    @PostMapping("/stock/release/{orderId}")
+    public ResponseEntity<ApiResponse<Integer>> releaseStock(@PathVariable Long orderId) {
+        int released = stockService.release(orderId);
+        return ResponseEntity.ok(ApiResponse.success(released, "Stock released successfully"));
+    }
 }
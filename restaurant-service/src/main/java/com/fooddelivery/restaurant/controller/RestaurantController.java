@@ -1,12 +1,25 @@
 package com.fooddelivery.restaurant.controller;
 
+import com.fooddelivery.restaurant.cache.ResponseSerializer;
+import com.fooddelivery.restaurant.cache.SerializedResponse;
+import com.fooddelivery.restaurant.dto.CuisineFacetDTO;
+import com.fooddelivery.restaurant.dto.CursorPageDTO;
+import com.fooddelivery.restaurant.dto.HomeFeedDTO;
+import com.fooddelivery.restaurant.dto.OwnerDashboardDTO;
+import com.fooddelivery.restaurant.dto.RestaurantCardDTO;
 import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import com.fooddelivery.restaurant.service.FacetService;
+import com.fooddelivery.restaurant.service.HomeFeedService;
+import com.fooddelivery.restaurant.service.OwnerDashboardService;
 import com.fooddelivery.restaurant.service.RestaurantService;
 import com.fooddelivery.restaurant.util.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,17 +28,81 @@ import java.util.List;
 public class RestaurantController {
     
     private final RestaurantService restaurantService;
+    private final HomeFeedService homeFeedService;
+    private final ResponseSerializer responseSerializer;
+    private final FacetService facetService;
+    private final OwnerDashboardService ownerDashboardService;
     
+    /**
+     * Served from cached, pre-serialized (and pre-compressed) listing pages.
+     * view=card returns only what a list card shows. Passing cursor (blank for the first page) switches
+     * from numbered pages to {items, nextCursor}; page is then ignored.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<RestaurantDTO>>> getAllRestaurants(
+    public ResponseEntity<?> getAllRestaurants(
             @RequestParam(required = false) String cuisineType,
             @RequestParam(required = false, defaultValue = "0") Double minRating,
             @RequestParam(required = false, defaultValue = "120") Integer maxDeliveryTime,
             @RequestParam(required = false, defaultValue = "false") Boolean onlyOpen,
-            @RequestParam(required = false, defaultValue = "rating") String sortBy) {
-        List<RestaurantDTO> restaurants = restaurantService.getFilteredRestaurants(
-                cuisineType, minRating, maxDeliveryTime, onlyOpen, sortBy);
-        return ResponseEntity.ok(ApiResponse.success(restaurants, "Restaurants retrieved successfully"));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt,
+            @RequestParam(required = false, defaultValue = "rating") String sortBy,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "100") Integer size,
+            @RequestParam(required = false, defaultValue = "full") String view,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            SerializedResponse restaurants = restaurantService.getFilteredRestaurants(cuisineType, minRating,
+                    maxDeliveryTime, onlyOpen, openAt, sortBy, page, size, RestaurantService.View.from(view), cursor);
+            return responseSerializer.write(ResponseEntity.ok(), restaurants, acceptEncoding);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/featured")
+    public ResponseEntity<ApiResponse<List<RestaurantDTO>>> getFeaturedRestaurants(
+            @RequestParam(required = false) String cuisineType,
+            @RequestParam(required = false, defaultValue = "0") Integer offset,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        List<RestaurantDTO> restaurants = homeFeedService.getTop(cuisineType, offset, limit);
+        return ResponseEntity.ok(ApiResponse.success(restaurants, "Featured restaurants retrieved successfully"));
+    }
+    
+    @GetMapping("/feed")
+    public ResponseEntity<ApiResponse<HomeFeedDTO>> getHomeFeed(
+            @RequestParam(required = false, defaultValue = "20") Integer limit,
+            @RequestParam(required = false, defaultValue = "10") Integer perCuisine) {
+        HomeFeedDTO feed = homeFeedService.getHomeFeed(limit, perCuisine);
+        return ResponseEntity.ok(ApiResponse.success(feed, "Home feed retrieved successfully"));
+    }
+    
+    /**
+     * Cuisines of active restaurants with how many restaurants list each, most common first
+     */
+    @GetMapping("/cuisines")
+    public ResponseEntity<ApiResponse<List<CuisineFacetDTO>>> getCuisines() {
+        List<CuisineFacetDTO> cuisines = facetService.getCuisineFacets();
+        return ResponseEntity.ok(ApiResponse.success(cuisines, "Cuisines retrieved successfully"));
+    }
+    
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse<List<RestaurantDTO>>> getNearbyRestaurants(
+            @RequestParam Double lat,
+            @RequestParam Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String cuisineType,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Integer maxDeliveryTime,
+            @RequestParam(required = false, defaultValue = "false") Boolean onlyOpen,
+            @RequestParam(required = false, defaultValue = "50") Integer limit) {
+        try {
+            List<RestaurantDTO> restaurants = restaurantService.getNearbyRestaurants(
+                    lat, lng, radiusKm, cuisineType, minRating, maxDeliveryTime, onlyOpen, limit);
+            return ResponseEntity.ok(ApiResponse.success(restaurants, "Nearby restaurants retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
     }
     
     @GetMapping("/{id}")
@@ -38,16 +115,65 @@ public class RestaurantController {
         }
     }
     
+    /**
+     * Same view and cursor parameters as the listing; cursor pages hold limit restaurants
+     */
     @GetMapping("/owner/{ownerId}")
-    public ResponseEntity<ApiResponse<List<RestaurantDTO>>> getRestaurantsByOwner(@PathVariable Long ownerId) {
-        List<RestaurantDTO> restaurants = restaurantService.getRestaurantsByOwner(ownerId);
-        return ResponseEntity.ok(ApiResponse.success(restaurants, "Owner restaurants retrieved successfully"));
+    public ResponseEntity<?> getRestaurantsByOwner(
+            @PathVariable Long ownerId,
+            @RequestParam(required = false, defaultValue = "full") String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        try {
+            RestaurantService.View restaurantView = RestaurantService.View.from(view);
+            if (cursor != null) {
+                CursorPageDTO<?> restaurants = restaurantService.getRestaurantsByOwnerPage(ownerId, restaurantView, cursor, limit);
+                return ResponseEntity.ok(ApiResponse.success(restaurants, "Owner restaurants retrieved successfully"));
+            }
+            if (restaurantView == RestaurantService.View.CARD) {
+                List<RestaurantCardDTO> restaurants = restaurantService.getRestaurantCardsByOwner(ownerId);
+                return ResponseEntity.ok(ApiResponse.success(restaurants, "Owner restaurants retrieved successfully"));
+            }
+            List<RestaurantDTO> restaurants = restaurantService.getRestaurantsByOwner(ownerId);
+            return ResponseEntity.ok(ApiResponse.success(restaurants, "Owner restaurants retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * All of an owner's restaurants with menu counts, rating and active orders, in one response
+     */
+    @GetMapping("/owner/{ownerId}/dashboard")
+    public ResponseEntity<ApiResponse<OwnerDashboardDTO>> getOwnerDashboard(@PathVariable Long ownerId) {
+        OwnerDashboardDTO dashboard = ownerDashboardService.getDashboard(ownerId);
+        return ResponseEntity.ok(ApiResponse.success(dashboard, "Owner dashboard retrieved successfully"));
     }
     
+    /**
+     * Same view and cursor parameters as the listing; cursor pages hold limit results
+     */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<RestaurantDTO>>> searchRestaurants(@RequestParam String query) {
-        List<RestaurantDTO> restaurants = restaurantService.searchRestaurants(query);
-        return ResponseEntity.ok(ApiResponse.success(restaurants, "Search results retrieved successfully"));
+    public ResponseEntity<?> searchRestaurants(
+            @RequestParam String query,
+            @RequestParam(required = false, defaultValue = "full") String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        try {
+            RestaurantService.View restaurantView = RestaurantService.View.from(view);
+            if (cursor != null) {
+                CursorPageDTO<?> restaurants = restaurantService.searchRestaurantsPage(query, restaurantView, cursor, limit);
+                return ResponseEntity.ok(ApiResponse.success(restaurants, "Search results retrieved successfully"));
+            }
+            if (restaurantView == RestaurantService.View.CARD) {
+                List<RestaurantCardDTO> restaurants = restaurantService.searchRestaurantCards(query);
+                return ResponseEntity.ok(ApiResponse.success(restaurants, "Search results retrieved successfully"));
+            }
+            List<RestaurantDTO> restaurants = restaurantService.searchRestaurants(query);
+            return ResponseEntity.ok(ApiResponse.success(restaurants, "Search results retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
     }
     
     @PostMapping
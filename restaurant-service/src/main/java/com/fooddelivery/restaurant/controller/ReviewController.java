@@ -0,0 +1,41 @@
+package com.fooddelivery.restaurant.controller;
+
+import com.fooddelivery.restaurant.dto.CreateReviewRequest;
+import com.fooddelivery.restaurant.dto.ReviewDTO;
+import com.fooddelivery.restaurant.service.ReviewService;
+import com.fooddelivery.restaurant.util.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/restaurants/{restaurantId}/reviews")
+@RequiredArgsConstructor
+public class ReviewController {
+    
+    private final ReviewService reviewService;
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<ReviewDTO>>> getReviews(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "20") Integer size) {
+        List<ReviewDTO> reviews = reviewService.getReviewsByRestaurant(restaurantId, page, size);
+        return ResponseEntity.ok(ApiResponse.success(reviews, "Reviews retrieved successfully"));
+    }
+    
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReviewDTO>> createReview(
+            @PathVariable Long restaurantId,
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestBody CreateReviewRequest request) {
+        try {
+            ReviewDTO created = reviewService.createReview(restaurantId, userId, request);
+            return ResponseEntity.ok(ApiResponse.success(created, "Review submitted successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.fooddelivery.restaurant.controller;
+
+import com.fooddelivery.restaurant.dto.SearchResultDTO;
+import com.fooddelivery.restaurant.dto.SuggestionDTO;
+import com.fooddelivery.restaurant.service.SearchService;
+import com.fooddelivery.restaurant.service.SuggestService;
+import com.fooddelivery.restaurant.util.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+    
+    private final SearchService searchService;
+    private final SuggestService suggestService;
+    
+    /**
+     * Search restaurants and dishes together, e.g. /api/search?q=margherita&type=dish
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SearchResultDTO>>> search(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "all") String type,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.status(400).body(ApiResponse.error("Search query must not be empty"));
+        }
+        try {
+            List<SearchResultDTO> results = searchService.search(q, type, limit);
+            return ResponseEntity.ok(ApiResponse.success(results, "Search results retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Search-box autocomplete, e.g. /api/search/suggest?q=piz
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionDTO>>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "8") Integer limit) {
+        List<SuggestionDTO> suggestions = suggestService.suggest(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions, "Suggestions retrieved successfully"));
+    }
+}
@@ -0,0 +1,14 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateReviewRequest {
+    private Long orderId;
+    private Integer rating; // 1-5
+    private String comment;
+}
@@ -0,0 +1,13 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CuisineFacetDTO {
+    private String cuisine;
+    private Integer restaurantCount;
+}
@@ -0,0 +1,18 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeFeedDTO {
+    private List<RestaurantDTO> top;
+    private Map<String, List<RestaurantDTO>> byCuisine; // Cuisine -> best restaurants, best cuisines first
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,17 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuFacetsDTO {
+    private Long restaurantId;
+    private Integer totalItems;
+    private Integer vegetarianItems;
+    private List<CategoryFacetDTO> categories; // In the order they first appeared on the menu
+}
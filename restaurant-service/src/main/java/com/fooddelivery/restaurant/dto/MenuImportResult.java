@@ -0,0 +1,28 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuImportResult {
+    private Long restaurantId;
+    private Integer totalRows;
+    private Integer inserted;
+    private Integer updated;
+    private Integer failed;
+    private Boolean errorsTruncated;
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Integer line;
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemBatchResult {
+    private List<MenuItemSummaryDTO> items; // In request order, duplicates removed
+    private List<Long> missingIds; // Requested ids that do not exist
+}
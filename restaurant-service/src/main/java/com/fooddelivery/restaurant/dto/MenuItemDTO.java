@@ -19,6 +19,9 @@ public class MenuItemDTO {
     private String category;
     private Boolean isVegetarian;
     private Boolean isAvailable;
+    private Integer dailyStock; // null for unlimited
+    private Integer stockRemaining; // Read-only, approximate: units not yet leased out; absent from cached menus
+    private Boolean soldOut; // Read-only
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,19 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The fields other services need to validate an order line
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemSummaryDTO {
+    private Long id;
+    private Long restaurantId;
+    private String name;
+    private Double price;
+    private Boolean isAvailable;
+}
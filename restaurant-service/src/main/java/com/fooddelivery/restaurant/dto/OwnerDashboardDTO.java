@@ -0,0 +1,24 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerDashboardDTO {
+    private Long ownerId;
+    private Integer restaurantCount;
+    private Integer activeRestaurantCount;
+    private Integer menuItemCount;
+    private Integer unavailableItemCount;
+    private Integer activeOrders; // Sum over the restaurants; null when order-service is unreachable
+    private Integer totalReviews;
+    private Double averageRating; // Weighted by review count across the owner's restaurants
+    private List<OwnerRestaurantSummaryDTO> restaurants;
+    private LocalDateTime generatedAt; // When the cached counts were computed
+}
@@ -0,0 +1,16 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerRestaurantSummaryDTO {
+    private RestaurantDTO restaurant;
+    private Integer menuItemCount;
+    private Integer unavailableItemCount;
+    private Integer soldOutItemCount; // Unavailable because today's stock ran out
+    private Integer activeOrders; // Placed and not yet ready for pickup; null when order-service is unreachable
+}
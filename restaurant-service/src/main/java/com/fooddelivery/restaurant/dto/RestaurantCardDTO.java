@@ -0,0 +1,23 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The fields a restaurant list card shows (view=card)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantCardDTO {
+    private Long id;
+    private String name;
+    private String cuisine;
+    private String imageUrl;
+    private Double rating;
+    private Integer totalReviews;
+    private Double deliveryFee;
+    private Integer estimatedDeliveryTime;
+    private Integer liveDeliveryTime;
+}
@@ -24,8 +24,14 @@ public class RestaurantDTO {
     private Boolean isActive;
     private String openingTime;
     private String closingTime;
+    private String openingHours;
     private Double deliveryFee;
     private Integer estimatedDeliveryTime;
+    private Integer liveDeliveryTime; // Stored estimate adjusted for current kitchen load
+    private Double latitude;
+    private Double longitude;
+    private Double deliveryRadiusKm;
+    private Double distanceKm; // Only set on nearby results
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,20 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewDTO {
+    private Long id;
+    private Long restaurantId;
+    private Long orderId;
+    private Long userId;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    private String type; // RESTAURANT or MENU_ITEM
+    private Long id;
+    private Long restaurantId;
+    private String restaurantName;
+    private String name;
+    private String cuisine;
+    private String category;
+    private String imageUrl;
+    private Double price;
+    private Double rating;
+    private Boolean isVegetarian;
+    private Double score;
+}
@@ -0,0 +1,16 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResult {
+    private Long orderId;
+    private Boolean reserved;
+    private List<Long> unavailableItemIds; // Items that are unknown, unavailable or out of stock
+}
@@ -0,0 +1,14 @@
+package com.fooddelivery.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+    private String type; // RESTAURANT, CUISINE or DISH
+    private String text;
+    private Long restaurantId; // Restaurant suggestions only
+}
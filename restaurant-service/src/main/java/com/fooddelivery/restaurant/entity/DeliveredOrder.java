@@ -0,0 +1,31 @@
+package com.fooddelivery.restaurant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Local record of an order delivered by order-service (from the order-delivered topic);
+ * it is what makes the order eligible for a review
+ */
+@Entity
+@Table(name = "delivered_orders")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveredOrder {
+    
+    @Id
+    private Long orderId;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Long restaurantId;
+    
+    private LocalDateTime deliveredAt;
+}
@@ -4,13 +4,22 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "menu_items")
+// Second-level cached; NONSTRICT_READ_WRITE evicts the entry on update. Only ever written as an entity
+// (never by JPQL bulk statements, which would evict the whole region), and only changed columns are written,
+// so an owner's edit and a sold-out flip do not overwrite each other
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "menu-items")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,6 +52,14 @@ public class MenuItem {
     @Column(name = "available", nullable = false)
     private Boolean isAvailable = true;
     
+    // Optional limited dish: units sellable per day, null for unlimited
+    private Integer dailyStock;
+    
+    // Set when the item was made unavailable because it sold out (as opposed to by the owner); only StockService
+    // changes it. Today's pool itself is in MenuItemStock.
+    @Column(nullable = false, insertable = false, columnDefinition = "BIT NOT NULL DEFAULT 0")
+    private Boolean soldOut = false;
+    
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
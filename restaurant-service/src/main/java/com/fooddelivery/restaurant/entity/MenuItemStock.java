@@ -0,0 +1,34 @@
+package com.fooddelivery.restaurant.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Today's stock pool of a limited dish, maintained only by StockService.
+ * Kept out of menu_items (and out of the second-level cache): the pool changes with every leased block,
+ * and statements on a cached table would evict the whole menu-items region each time.
+ */
+@Entity
+@Table(name = "menu_item_stock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemStock {
+    
+    @Id
+    private Long menuItemId;
+    
+    // Copy of MenuItem.dailyStock, so the daily reset only touches this table
+    private Integer dailyStock;
+    
+    // Units of today's stock not yet leased to a restaurant-service instance
+    private Integer stockRemaining;
+    
+    private LocalDate stockDate;
+}
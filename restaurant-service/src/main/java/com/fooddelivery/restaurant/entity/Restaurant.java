@@ -4,13 +4,27 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants", indexes = {
+    @Index(name = "idx_restaurants_active_cuisine_rating", columnList = "isActive, cuisine, rating"),
+    @Index(name = "idx_restaurants_active_rating", columnList = "isActive, rating"),
+    @Index(name = "idx_restaurants_active_delivery_time", columnList = "isActive, estimatedDeliveryTime"),
+    @Index(name = "idx_restaurants_owner", columnList = "ownerId")
+})
+// Second-level cached; NONSTRICT_READ_WRITE evicts the entry on update. Only ever written as an entity
+// (never by JPQL bulk statements, which would evict the whole region), and only changed columns are written,
+// so an owner's edit never overwrites the rating or menu version with a stale copy
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "restaurants")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +56,7 @@ public class Restaurant {
     @Column(nullable = false)
     private String cuisine;
     
+    // Maintained only by RestaurantRepository.applyRatingDelta
     @Column(nullable = false)
     private Double rating = 0.0;
     
@@ -57,12 +72,28 @@ public class Restaurant {
     @Column(nullable = false)
     private String closingTime;
     
+    // Optional per-day schedule, e.g. "MON-FRI 11:00-23:00; SAT,SUN 10:00-01:00"; overrides opening/closing time
+    @Column(columnDefinition = "TEXT")
+    private String openingHours;
+    
     @Column(nullable = false)
     private Double deliveryFee = 0.0;
     
     @Column(nullable = false)
     private Integer estimatedDeliveryTime = 30;
     
+    // Location for "near me" browsing (restaurants without coordinates are not geo-indexed)
+    private Double latitude;
+    
+    private Double longitude;
+    
+    // How far the restaurant delivers; null falls back to the service default
+    private Double deliveryRadiusKm;
+    
+    // Bumped by every menu write; only ever changed by RestaurantRepository.incrementMenuVersion
+    @Column(nullable = false, insertable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long menuVersion = 0L;
+    
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
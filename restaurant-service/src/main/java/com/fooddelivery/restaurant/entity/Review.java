@@ -0,0 +1,51 @@
+package com.fooddelivery.restaurant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A customer review of one delivered order.
+ * aggregated flips to true once the rating has been folded into the restaurant's rating/totalReviews.
+ */
+@Entity
+@Table(name = "reviews", indexes = {
+    @Index(name = "idx_reviews_restaurant_created", columnList = "restaurantId, createdAt"),
+    @Index(name = "idx_reviews_aggregated_created", columnList = "aggregated, createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Review {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long restaurantId;
+    
+    // One review per order
+    @Column(nullable = false, unique = true)
+    private Long orderId;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Integer rating;
+    
+    @Column(columnDefinition = "TEXT")
+    private String comment;
+    
+    @Column(nullable = false)
+    private Boolean aggregated = false;
+    
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
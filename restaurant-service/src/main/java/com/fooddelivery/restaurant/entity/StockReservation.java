@@ -0,0 +1,47 @@
+package com.fooddelivery.restaurant.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Units of a limited dish held by one order; released (once) when the order is cancelled
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+    @Index(name = "uk_stock_reservations_order_item", columnList = "orderId, menuItemId", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long orderId;
+    
+    @Column(nullable = false)
+    private Long menuItemId;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    // Stock day the units came from; releases after that day do not add to the next day's stock
+    @Column(nullable = false)
+    private LocalDate stockDate;
+    
+    @Column(nullable = false)
+    private Boolean released = false;
+    
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.fooddelivery.restaurant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Cache invalidation broadcast to every restaurant-service instance via Kafka
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+    private String originInstanceId;
+    private LocalDateTime timestamp;
+    private CatalogChangedEvent.Kind kind;
+    private Long restaurantId;
+    private Long menuItemId;
+    private Set<String> cuisines;
+}
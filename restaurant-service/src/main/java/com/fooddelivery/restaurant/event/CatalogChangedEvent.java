@@ -0,0 +1,48 @@
+package com.fooddelivery.restaurant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * In-process notification that part of the catalog changed.
+ * Published by the services inside the write transaction (listeners react after commit),
+ * or re-published from Kafka with remote = true when another instance made the change.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChangedEvent {
+
+    public enum Kind {
+        RESTAURANT,
+        MENU_ITEM
+    }
+
+    private Kind kind;
+    private Long restaurantId;
+    private Long menuItemId;
+    private Set<String> cuisines; // Cuisines before and after the change (restaurant changes only)
+    private boolean remote;
+
+    public static CatalogChangedEvent restaurantChanged(Long restaurantId, String... cuisines) {
+        Set<String> affected = new HashSet<>();
+        for (String cuisine : cuisines) {
+            if (cuisine != null) {
+                affected.add(cuisine.toLowerCase());
+            }
+        }
+        return new CatalogChangedEvent(Kind.RESTAURANT, restaurantId, null, affected, false);
+    }
+
+    public static CatalogChangedEvent menuChanged(Long restaurantId, Long menuItemId) {
+        return new CatalogChangedEvent(Kind.MENU_ITEM, restaurantId, menuItemId, new HashSet<>(), false);
+    }
+
+    public boolean isRestaurantChange() {
+        return kind == Kind.RESTAURANT;
+    }
+}
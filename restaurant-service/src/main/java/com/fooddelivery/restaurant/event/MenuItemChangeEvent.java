@@ -0,0 +1,66 @@
+package com.fooddelivery.restaurant.event;
+
+import com.fooddelivery.restaurant.entity.MenuItem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current state of one menu item, published to the compacted menu-item-changes topic keyed by item id.
+ * The latest record per key is the item's full current state, so a consumer replaying the topic
+ * ends up with a complete replica.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemChangeEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        REPRICED,
+        AVAILABLE,
+        UNAVAILABLE
+    }
+
+    private Long menuItemId;
+    private Long restaurantId;
+    private ChangeType changeType;
+    private String name;
+    private String category;
+    private Double price;
+    private Double previousPrice;
+    private Boolean isVegetarian;
+    private Boolean isAvailable;
+    private LocalDateTime occurredAt;
+
+    public static MenuItemChangeEvent of(MenuItem item, ChangeType changeType, Double previousPrice) {
+        return new MenuItemChangeEvent(
+                item.getId(),
+                item.getRestaurantId(),
+                changeType,
+                item.getName(),
+                item.getCategory(),
+                item.getPrice(),
+                previousPrice,
+                item.getIsVegetarian(),
+                item.getIsAvailable(),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Most specific change type for an update: availability flips win over price changes
+     */
+    public static ChangeType classifyUpdate(Boolean wasAvailable, Double previousPrice, MenuItem updated) {
+        boolean available = Boolean.TRUE.equals(updated.getIsAvailable());
+        if (Boolean.TRUE.equals(wasAvailable) != available) {
+            return available ? ChangeType.AVAILABLE : ChangeType.UNAVAILABLE;
+        }
+        if (previousPrice != null && !previousPrice.equals(updated.getPrice())) {
+            return ChangeType.REPRICED;
+        }
+        return ChangeType.UPDATED;
+    }
+}
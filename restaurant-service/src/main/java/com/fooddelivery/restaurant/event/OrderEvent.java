@@ -0,0 +1,28 @@
+package com.fooddelivery.restaurant.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The parts of order-service's OrderEvent that restaurant-service uses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OrderEvent {
+    private String eventId;
+    private String eventType;
+    private LocalDateTime timestamp;
+    private Long orderId;
+    private Long userId;
+    private Long restaurantId;
+    private String status;
+    private String previousStatus;
+    private List<OrderItemEvent> items;
+}
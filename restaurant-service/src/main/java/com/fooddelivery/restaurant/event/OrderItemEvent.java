@@ -0,0 +1,15 @@
+package com.fooddelivery.restaurant.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OrderItemEvent {
+    private Long menuItemId;
+    private Integer quantity;
+}
@@ -0,0 +1,24 @@
+package com.fooddelivery.restaurant.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The parts of payment-service's PaymentEvent that restaurant-service uses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PaymentEvent {
+    private String eventId;
+    private String eventType;
+    private LocalDateTime timestamp;
+    private Long paymentId;
+    private Long orderId;
+    private String status;
+}
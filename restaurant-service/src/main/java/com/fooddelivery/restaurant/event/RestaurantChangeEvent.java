@@ -0,0 +1,53 @@
+package com.fooddelivery.restaurant.event;
+
+import com.fooddelivery.restaurant.entity.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current state of one restaurant, published to the compacted restaurant-changes topic keyed by restaurant id
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantChangeEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        ACTIVATED,
+        DEACTIVATED
+    }
+
+    private Long restaurantId;
+    private Long ownerId;
+    private ChangeType changeType;
+    private String name;
+    private String cuisine;
+    private Boolean isActive;
+    private Double rating;
+    private Double deliveryFee;
+    private Integer estimatedDeliveryTime;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime occurredAt;
+
+    public static RestaurantChangeEvent of(Restaurant restaurant, ChangeType changeType) {
+        return new RestaurantChangeEvent(
+                restaurant.getId(),
+                restaurant.getOwnerId(),
+                changeType,
+                restaurant.getName(),
+                restaurant.getCuisine(),
+                restaurant.getIsActive(),
+                restaurant.getRating(),
+                restaurant.getDeliveryFee(),
+                restaurant.getEstimatedDeliveryTime(),
+                restaurant.getLatitude(),
+                restaurant.getLongitude(),
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,17 @@
+package com.fooddelivery.restaurant.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * In-process notification that a review was stored; the rating aggregator picks it up after commit
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSubmittedEvent {
+    private Long reviewId;
+    private Long restaurantId;
+    private Integer rating;
+}
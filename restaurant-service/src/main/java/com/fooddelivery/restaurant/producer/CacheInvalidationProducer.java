@@ -0,0 +1,54 @@
+package com.fooddelivery.restaurant.producer;
+
+import com.fooddelivery.restaurant.config.KafkaTopicConfig;
+import com.fooddelivery.restaurant.event.CacheInvalidationEvent;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Broadcasts committed local catalog changes to the other restaurant-service instances
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationProducer {
+    
+    @Getter
+    private final String instanceId = UUID.randomUUID().toString();
+    
+    private final KafkaTemplate<String, CacheInvalidationEvent> kafkaTemplate;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        try {
+            CacheInvalidationEvent message = new CacheInvalidationEvent(
+                    instanceId,
+                    LocalDateTime.now(),
+                    event.getKind(),
+                    event.getRestaurantId(),
+                    event.getMenuItemId(),
+                    event.getCuisines());
+            kafkaTemplate.send(KafkaTopicConfig.CACHE_INVALIDATION_TOPIC, String.valueOf(event.getRestaurantId()), message)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("❌ Failed to broadcast catalog change for restaurant {}",
+                                    event.getRestaurantId(), ex);
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("❌ Exception while broadcasting catalog change for restaurant {}",
+                    event.getRestaurantId(), e);
+        }
+    }
+}
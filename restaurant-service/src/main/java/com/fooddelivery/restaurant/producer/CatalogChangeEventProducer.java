@@ -0,0 +1,71 @@
+package com.fooddelivery.restaurant.producer;
+
+import com.fooddelivery.restaurant.config.KafkaTopicConfig;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.event.MenuItemChangeEvent;
+import com.fooddelivery.restaurant.event.RestaurantChangeEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Publishes restaurant and menu item state to compacted Kafka topics once the write has committed,
+ * so downstream services can keep local replicas instead of calling restaurant-service synchronously
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogChangeEventProducer {
+    
+    private final KafkaTemplate<String, Object> catalogChangeKafkaTemplate;
+    private final MenuItemRepository menuItemRepository;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChange(RestaurantChangeEvent event) {
+        send(KafkaTopicConfig.RESTAURANT_CHANGES_TOPIC, event.getRestaurantId(), event);
+        log.info("📤 Published restaurant change: restaurantId={}, type={}", event.getRestaurantId(), event.getChangeType());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuItemChange(MenuItemChangeEvent event) {
+        send(KafkaTopicConfig.MENU_ITEM_CHANGES_TOPIC, event.getMenuItemId(), event);
+        log.info("📤 Published menu item change: menuItemId={}, type={}", event.getMenuItemId(), event.getChangeType());
+    }
+    
+    /**
+     * Menu-wide writes (bulk import) do not describe single items; republish the restaurant's whole menu
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isRemote() || event.isRestaurantChange() || event.getMenuItemId() != null) {
+            return;
+        }
+        try {
+            List<MenuItem> items = menuItemRepository.findByRestaurantId(event.getRestaurantId());
+            items.forEach(item -> send(KafkaTopicConfig.MENU_ITEM_CHANGES_TOPIC, item.getId(),
+                    MenuItemChangeEvent.of(item, MenuItemChangeEvent.ChangeType.UPDATED, null)));
+            log.info("📤 Published {} menu item snapshots for restaurant {}", items.size(), event.getRestaurantId());
+        } catch (Exception e) {
+            log.error("❌ Failed to republish menu of restaurant {}", event.getRestaurantId(), e);
+        }
+    }
+    
+    private void send(String topic, Long key, Object event) {
+        try {
+            catalogChangeKafkaTemplate.send(topic, String.valueOf(key), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("❌ Failed to publish to {} for key {}", topic, key, ex);
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("❌ Exception while publishing to {} for key {}", topic, key, e);
+        }
+    }
+}
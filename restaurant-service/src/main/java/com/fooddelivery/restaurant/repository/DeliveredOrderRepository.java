@@ -0,0 +1,9 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.DeliveredOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeliveredOrderRepository extends JpaRepository<DeliveredOrder, Long> {
+}
@@ -1,14 +1,59 @@
 package com.fooddelivery.restaurant.repository;
 
 import com.fooddelivery.restaurant.entity.MenuItem;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findByRestaurantId(Long restaurantId);
     List<MenuItem> findByRestaurantIdAndIsAvailableTrue(Long restaurantId);
     List<MenuItem> findByRestaurantIdAndCategory(Long restaurantId, String category);
+    List<MenuItem> findByIsAvailableTrue();
+    
+    /**
+     * Cheap fingerprint of the menu items table; deletes are covered by the restaurant's menu version
+     */
+    @Query("SELECT COUNT(m) AS itemCount, MAX(m.updatedAt) AS lastUpdatedAt FROM MenuItem m")
+    MenuItemsVersion findMenuItemsVersion();
+    
+    interface MenuItemsVersion {
+        Long getItemCount();
+        LocalDateTime getLastUpdatedAt();
+    }
+    
+    /**
+     * Per-restaurant item counts for many restaurants in one grouped query
+     */
+    @Query("SELECT m.restaurantId AS restaurantId, COUNT(m) AS itemCount, "
+            + "SUM(CASE WHEN m.isAvailable = false THEN 1 ELSE 0 END) AS unavailableCount, "
+            + "SUM(CASE WHEN m.soldOut = true THEN 1 ELSE 0 END) AS soldOutCount "
+            + "FROM MenuItem m WHERE m.restaurantId IN :restaurantIds GROUP BY m.restaurantId")
+    List<MenuCounts> countByRestaurantIds(@Param("restaurantIds") Collection<Long> restaurantIds);
+    
+    interface MenuCounts {
+        Long getRestaurantId();
+        Long getItemCount();
+        Long getUnavailableCount();
+        Long getSoldOutCount();
+    }
+    
+    // Daily stock: soldOut and sold-out availability are changed by StockService through locked entity writes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MenuItem m WHERE m.id = :id")
+    Optional<MenuItem> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT m FROM MenuItem m WHERE m.dailyStock IS NOT NULL AND m.soldOut = true AND EXISTS ("
+            + "SELECT s FROM MenuItemStock s WHERE s.menuItemId = m.id AND (s.stockDate IS NULL OR s.stockDate < :today))")
+    List<MenuItem> findSoldOutBefore(@Param("today") LocalDate today);
 }
@@ -0,0 +1,44 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.MenuItemStock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Daily stock pools. menu_item_stock is not second-level cached, so these statements leave the cached
+ * menu items alone.
+ */
+@Repository
+public interface MenuItemStockRepository extends JpaRepository<MenuItemStock, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM MenuItemStock s WHERE s.menuItemId = :id")
+    Optional<MenuItemStock> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Start a new stock day for pools still on an earlier one (all of them when id is null)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MenuItemStock s SET s.stockRemaining = s.dailyStock, s.stockDate = :today "
+            + "WHERE s.dailyStock IS NOT NULL AND (s.stockDate IS NULL OR s.stockDate < :today) "
+            + "AND (:id IS NULL OR s.menuItemId = :id)")
+    int resetDailyStock(@Param("today") LocalDate today, @Param("id") Long id);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MenuItemStock s SET s.stockRemaining = s.stockRemaining - :units "
+            + "WHERE s.menuItemId = :id AND s.stockRemaining >= :units")
+    int takeStock(@Param("id") Long id, @Param("units") int units);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MenuItemStock s SET s.stockRemaining = s.stockRemaining + :units "
+            + "WHERE s.menuItemId = :id AND s.stockDate = :day AND s.dailyStock IS NOT NULL")
+    int returnStock(@Param("id") Long id, @Param("units") int units, @Param("day") LocalDate day);
+}
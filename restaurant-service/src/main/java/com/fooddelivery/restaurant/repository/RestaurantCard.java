@@ -0,0 +1,15 @@
+package com.fooddelivery.restaurant.repository;
+
+/**
+ * Closed projection of the columns a restaurant list card shows; queries returning it select only these
+ */
+public interface RestaurantCard {
+    Long getId();
+    String getName();
+    String getCuisine();
+    String getImageUrl();
+    Double getRating();
+    Integer getTotalReviews();
+    Double getDeliveryFee();
+    Integer getEstimatedDeliveryTime();
+}
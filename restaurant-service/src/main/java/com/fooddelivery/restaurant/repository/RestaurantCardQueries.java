@@ -0,0 +1,19 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.Restaurant;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Card projections of a filtered listing; the filters are the ones in RestaurantSpecifications
+ */
+public interface RestaurantCardQueries {
+
+    /**
+     * Cards matching spec in the given order, starting after (afterValue, afterId) when afterId is set,
+     * otherwise skipping offset rows
+     */
+    List<RestaurantCard> findCards(Specification<Restaurant> spec, RestaurantSort sort,
+                                   Comparable<?> afterValue, Long afterId, int offset, int limit);
+}
@@ -0,0 +1,95 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.Restaurant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Criteria tuple query selecting only the card columns, so descriptions and opening hours are never read
+ */
+public class RestaurantCardQueriesImpl implements RestaurantCardQueries {
+
+    private static final List<String> CARD_COLUMNS = List.of(
+            "id", "name", "cuisine", "imageUrl", "rating", "totalReviews", "deliveryFee", "estimatedDeliveryTime");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private record TupleCard(Tuple tuple) implements RestaurantCard {
+        public Long getId() {
+            return tuple.get("id", Long.class);
+        }
+
+        public String getName() {
+            return tuple.get("name", String.class);
+        }
+
+        public String getCuisine() {
+            return tuple.get("cuisine", String.class);
+        }
+
+        public String getImageUrl() {
+            return tuple.get("imageUrl", String.class);
+        }
+
+        public Double getRating() {
+            return tuple.get("rating", Double.class);
+        }
+
+        public Integer getTotalReviews() {
+            return tuple.get("totalReviews", Integer.class);
+        }
+
+        public Double getDeliveryFee() {
+            return tuple.get("deliveryFee", Double.class);
+        }
+
+        public Integer getEstimatedDeliveryTime() {
+            return tuple.get("estimatedDeliveryTime", Integer.class);
+        }
+    }
+
+    @Override
+    public List<RestaurantCard> findCards(Specification<Restaurant> spec, RestaurantSort sort,
+                                          Comparable<?> afterValue, Long afterId, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Restaurant> root = query.from(Restaurant.class);
+
+        List<Selection<?>> columns = new ArrayList<>(CARD_COLUMNS.size());
+        for (String column : CARD_COLUMNS) {
+            columns.add(root.get(column).alias(column));
+        }
+        query.multiselect(columns);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (afterId != null) {
+            predicates.add(sort.after(root, cb, afterValue, afterId));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(sort.orderBy(root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(afterId == null ? offset : 0)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(TupleCard::new)
+                .collect(Collectors.toList());
+    }
+}
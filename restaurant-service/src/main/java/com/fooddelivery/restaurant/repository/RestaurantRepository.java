@@ -1,15 +1,89 @@
 package com.fooddelivery.restaurant.repository;
 
 import com.fooddelivery.restaurant.entity.Restaurant;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
+public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, JpaSpecificationExecutor<Restaurant>,
+        RestaurantCardQueries {
     List<Restaurant> findByIsActiveTrue();
+    
+    // Query-cached: owners reload their restaurants far more often than they change them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Restaurant> findByOwnerId(Long ownerId);
+    
     List<Restaurant> findByCuisineContainingIgnoreCase(String cuisine);
     List<Restaurant> findByNameContainingIgnoreCase(String name);
+    
+    // Keyset pages by id; the card variants select only the RestaurantCard columns
+    List<Restaurant> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long afterId, Limit limit);
+    List<RestaurantCard> findCardsByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long afterId, Limit limit);
+    List<RestaurantCard> findCardsByOwnerIdOrderByIdAsc(Long ownerId);
+    List<RestaurantCard> findCardsByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT r.menuVersion FROM Restaurant r WHERE r.id = :restaurantId")
+    Optional<Long> findMenuVersionById(@Param("restaurantId") Long restaurantId);
+    
+    /**
+     * Cheap fingerprint of the restaurants table: changes with every restaurant write, menu write and rating flush
+     */
+    @Query("SELECT COUNT(r) AS restaurantCount, COALESCE(SUM(r.menuVersion), 0) AS menuVersionSum, "
+            + "COALESCE(SUM(r.totalReviews), 0) AS reviewSum, MAX(r.updatedAt) AS lastUpdatedAt FROM Restaurant r")
+    RestaurantsVersion findRestaurantsVersion();
+    
+    interface RestaurantsVersion {
+        Long getRestaurantCount();
+        Long getMenuVersionSum();
+        Long getReviewSum();
+        LocalDateTime getLastUpdatedAt();
+    }
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Restaurant r WHERE r.id = :id")
+    Optional<Restaurant> findByIdForUpdate(@Param("id") Long id);
+    
+    // The writes below lock the row and change the entity, so only this restaurant's second-level cache entry
+    // is evicted (a JPQL UPDATE would evict every restaurant). They join the caller's transaction, which must
+    // not have loaded the restaurant before: the lock does not refresh an already managed copy.
+    
+    /**
+     * Row-locked, so concurrent menu writes on different instances never reuse a version
+     */
+    default int incrementMenuVersion(Long restaurantId) {
+        return findByIdForUpdate(restaurantId)
+                .map(restaurant -> {
+                    restaurant.setMenuVersion(restaurant.getMenuVersion() + 1);
+                    return 1;
+                })
+                .orElse(0);
+    }
+    
+    /**
+     * Fold a batch of new ratings into the running average
+     */
+    default int applyRatingDelta(Long restaurantId, double ratingSum, int reviewCount) {
+        return findByIdForUpdate(restaurantId)
+                .map(restaurant -> {
+                    int total = restaurant.getTotalReviews();
+                    restaurant.setRating((restaurant.getRating() * total + ratingSum) / (total + reviewCount));
+                    restaurant.setTotalReviews(total + reviewCount);
+                    return 1;
+                })
+                .orElse(0);
+    }
 }
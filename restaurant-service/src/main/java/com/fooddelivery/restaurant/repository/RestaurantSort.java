@@ -0,0 +1,91 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.Restaurant;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Listing orders. Every order ends with id ascending, so it is total and a page can be resumed
+ * right after its last row (keyset pagination) instead of counting an offset.
+ */
+public enum RestaurantSort {
+    RATING("rating", "rating", false),
+    DELIVERY_TIME("deliverytime", "estimatedDeliveryTime", true), // Stored estimate, not the live one shown
+    NAME("name", "name", true);
+
+    private final String key;
+    private final String attribute;
+    private final boolean ascending;
+
+    RestaurantSort(String key, String attribute, boolean ascending) {
+        this.key = key;
+        this.attribute = attribute;
+        this.ascending = ascending;
+    }
+
+    /**
+     * Unknown or missing values sort by rating, as the listing always has
+     */
+    public static RestaurantSort from(String sortBy) {
+        if (sortBy != null) {
+            for (RestaurantSort sort : values()) {
+                if (sort.key.equalsIgnoreCase(sortBy)) {
+                    return sort;
+                }
+            }
+        }
+        return RATING;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Sort toSort() {
+        return Sort.by(ascending ? Sort.Direction.ASC : Sort.Direction.DESC, attribute)
+                .and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    /**
+     * The sort column of a card, written into cursors
+     */
+    public String valueOf(RestaurantCard card) {
+        return switch (this) {
+            case RATING -> String.valueOf(card.getRating());
+            case DELIVERY_TIME -> String.valueOf(card.getEstimatedDeliveryTime());
+            case NAME -> card.getName();
+        };
+    }
+
+    /**
+     * Inverse of valueOf; IllegalArgumentException for a value this sort could not have written
+     */
+    public Comparable<?> parseValue(String value) {
+        return switch (this) {
+            case RATING -> Double.valueOf(value);
+            case DELIVERY_TIME -> Integer.valueOf(value);
+            case NAME -> value;
+        };
+    }
+
+    List<Order> orderBy(Root<Restaurant> root, CriteriaBuilder cb) {
+        Expression<?> column = root.get(attribute);
+        return List.of(ascending ? cb.asc(column) : cb.desc(column), cb.asc(root.get("id")));
+    }
+
+    /**
+     * Rows strictly after (value, id) in this order
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Predicate after(Root<Restaurant> root, CriteriaBuilder cb, Comparable value, Long id) {
+        Expression<Comparable> column = root.get(attribute);
+        Predicate beyond = ascending ? cb.greaterThan(column, value) : cb.lessThan(column, value);
+        return cb.or(beyond, cb.and(cb.equal(column, value), cb.greaterThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.Restaurant;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Composable predicates for restaurant browsing, evaluated in SQL.
+ * Equality on cuisine relies on the column's case-insensitive collation, so no LOWER()
+ * wraps the column and idx_restaurants_active_cuisine_rating stays usable.
+ */
+public final class RestaurantSpecifications {
+
+    private RestaurantSpecifications() {
+    }
+
+    /**
+     * Matches nothing, e.g. when the open filter leaves no restaurant
+     */
+    public static Specification<Restaurant> none() {
+        return (root, query, cb) -> cb.disjunction();
+    }
+
+    public static Specification<Restaurant> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("isActive"));
+    }
+
+    public static Specification<Restaurant> hasCuisine(String cuisine) {
+        if (cuisine == null || cuisine.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("cuisine"), cuisine);
+    }
+
+    public static Specification<Restaurant> minRating(Double minRating) {
+        if (minRating == null || minRating <= 0) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("rating"), minRating);
+    }
+
+    public static Specification<Restaurant> maxDeliveryTime(Integer maxDeliveryTime) {
+        if (maxDeliveryTime == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("estimatedDeliveryTime"), maxDeliveryTime);
+    }
+
+    public static Specification<Restaurant> idIn(Collection<Long> ids) {
+        if (ids == null) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Restaurant> idNotIn(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.not(root.get("id").in(ids));
+    }
+}
@@ -0,0 +1,29 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+    boolean existsByOrderId(Long orderId);
+    List<Review> findByRestaurantIdOrderByCreatedAtDescIdDesc(Long restaurantId, Pageable pageable);
+    
+    @Query("SELECT r FROM Review r WHERE r.aggregated = false AND r.createdAt < :cutoff ORDER BY r.createdAt ASC")
+    List<Review> findUnaggregatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    /**
+     * Claim reviews for aggregation; the caller compares the count with what it expected
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Review r SET r.aggregated = true WHERE r.id IN :ids AND r.aggregated = false")
+    int markAggregated(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,23 @@
+package com.fooddelivery.restaurant.repository;
+
+import com.fooddelivery.restaurant.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    boolean existsByOrderId(Long orderId);
+    List<StockReservation> findByOrderIdAndReleasedFalse(Long orderId);
+    
+    /**
+     * Returns 1 only for the caller that actually released the reservation
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.released = true WHERE r.id = :id AND r.released = false")
+    int markReleased(@Param("id") Long id);
+}
@@ -0,0 +1,148 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.restaurant.entity.Restaurant;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-size lat/long grid over active restaurants (a geohash-style bucketing).
+ * A radius query visits only the cells overlapping the circle's bounding box and checks the
+ * exact great-circle distance for the restaurants in them.
+ */
+@Component
+public class GeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    // ~2.2 km of latitude per cell: small enough that a 5 km query touches a handful of cells
+    private static final double CELL_DEGREES = 0.02;
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LON_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    private final ConcurrentMap<Long, ConcurrentMap<Long, Place>> cells = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Place> places = new ConcurrentHashMap<>();
+
+    /**
+     * Denormalized copy of the fields nearby browsing filters on
+     */
+    public record Place(Long restaurantId, double latitude, double longitude, String cuisine,
+                        double rating, int estimatedDeliveryTime, Double deliveryRadiusKm) {
+
+        public static Place of(Restaurant restaurant) {
+            return new Place(
+                    restaurant.getId(),
+                    restaurant.getLatitude(),
+                    restaurant.getLongitude(),
+                    restaurant.getCuisine() == null ? null : restaurant.getCuisine().toLowerCase(),
+                    restaurant.getRating() == null ? 0.0 : restaurant.getRating(),
+                    restaurant.getEstimatedDeliveryTime() == null ? 0 : restaurant.getEstimatedDeliveryTime(),
+                    restaurant.getDeliveryRadiusKm());
+        }
+    }
+
+    public record Nearby(Place place, double distanceKm) {
+    }
+
+    public synchronized void put(Place place) {
+        remove(place.restaurantId());
+        cells.computeIfAbsent(cellOf(place.latitude(), place.longitude()), c -> new ConcurrentHashMap<>())
+                .put(place.restaurantId(), place);
+        places.put(place.restaurantId(), place);
+    }
+
+    public synchronized void remove(Long restaurantId) {
+        Place existing = places.remove(restaurantId);
+        if (existing == null) {
+            return;
+        }
+        long cell = cellOf(existing.latitude(), existing.longitude());
+        Map<Long, Place> bucket = cells.get(cell);
+        if (bucket != null) {
+            bucket.remove(restaurantId);
+            if (bucket.isEmpty()) {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    public synchronized void replaceAll(Collection<Place> replacement) {
+        cells.clear();
+        places.clear();
+        replacement.forEach(this::put);
+    }
+
+    public int size() {
+        return places.size();
+    }
+
+    /**
+     * Places within radiusKm of the point that pass the filter, closest first
+     */
+    public List<Nearby> nearby(double latitude, double longitude, double radiusKm,
+                               Predicate<Place> filter, int limit) {
+        double latSpan = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lonSpan = cosLat < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE_LAT * cosLat));
+
+        int minLat = latIndex(Math.max(-90, latitude - latSpan));
+        int maxLat = latIndex(Math.min(90, latitude + latSpan));
+        int minLon = lonIndex(longitude - lonSpan);
+        int lonSteps = Math.min(LON_CELLS - 1, (int) Math.ceil(2 * lonSpan / CELL_DEGREES) + 1);
+
+        List<Nearby> results = new ArrayList<>();
+        for (int lat = minLat; lat <= maxLat; lat++) {
+            for (int step = 0; step <= lonSteps; step++) {
+                int lon = Math.floorMod(minLon + step, LON_CELLS);
+                Map<Long, Place> bucket = cells.get(cellKey(lat, lon));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Place place : bucket.values()) {
+                    double distance = distanceKm(latitude, longitude, place.latitude(), place.longitude());
+                    if (distance <= radiusKm && filter.test(place)) {
+                        results.add(new Nearby(place, distance));
+                    }
+                }
+            }
+        }
+        results.sort(Comparator.comparingDouble(Nearby::distanceKm)
+                .thenComparing(nearby -> nearby.place().restaurantId()));
+        return results.size() > limit ? results.subList(0, limit) : results;
+    }
+
+    /**
+     * Haversine great-circle distance
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return cellKey(latIndex(latitude), lonIndex(longitude));
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    private static int latIndex(double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+}
@@ -0,0 +1,85 @@
+package com.fooddelivery.restaurant.search;
+
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of one restaurant or menu item as held by the {@link SearchIndex}.
+ * Carries everything a search result needs, so queries never touch the database.
+ */
+public record SearchDocument(Key key, Long restaurantId, String name, String cuisine, String category,
+                             String imageUrl, Double price, Double rating, Boolean isVegetarian,
+                             Map<String, Double> terms) {
+
+    // Field weights: a hit in the name matters more than one buried in the description
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double CUISINE_WEIGHT = 2.0;
+    private static final double CATEGORY_WEIGHT = 1.5;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    public enum Type {
+        RESTAURANT,
+        MENU_ITEM
+    }
+
+    public record Key(Type type, long id) {
+
+        public static Key restaurant(long id) {
+            return new Key(Type.RESTAURANT, id);
+        }
+
+        public static Key menuItem(long id) {
+            return new Key(Type.MENU_ITEM, id);
+        }
+    }
+
+    public static SearchDocument of(Restaurant restaurant) {
+        Map<String, Double> terms = new HashMap<>();
+        addTerms(terms, restaurant.getName(), NAME_WEIGHT);
+        addTerms(terms, restaurant.getCuisine(), CUISINE_WEIGHT);
+        addTerms(terms, restaurant.getDescription(), DESCRIPTION_WEIGHT);
+        return new SearchDocument(
+                Key.restaurant(restaurant.getId()),
+                restaurant.getId(),
+                restaurant.getName(),
+                restaurant.getCuisine(),
+                null,
+                restaurant.getImageUrl(),
+                null,
+                restaurant.getRating(),
+                null,
+                Collections.unmodifiableMap(terms));
+    }
+
+    public static SearchDocument of(MenuItem menuItem) {
+        Map<String, Double> terms = new HashMap<>();
+        addTerms(terms, menuItem.getName(), NAME_WEIGHT);
+        addTerms(terms, menuItem.getCategory(), CATEGORY_WEIGHT);
+        addTerms(terms, menuItem.getDescription(), DESCRIPTION_WEIGHT);
+        return new SearchDocument(
+                Key.menuItem(menuItem.getId()),
+                menuItem.getRestaurantId(),
+                menuItem.getName(),
+                null,
+                menuItem.getCategory(),
+                menuItem.getImageUrl(),
+                menuItem.getPrice(),
+                null,
+                menuItem.getIsVegetarian(),
+                Collections.unmodifiableMap(terms));
+    }
+
+    public boolean isRestaurant() {
+        return key.type() == Type.RESTAURANT;
+    }
+
+    private static void addTerms(Map<String, Double> terms, String text, double weight) {
+        for (String token : Tokenizer.tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+}
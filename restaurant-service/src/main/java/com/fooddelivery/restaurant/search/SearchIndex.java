@@ -0,0 +1,261 @@
+package com.fooddelivery.restaurant.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index over restaurants and menu items.
+ * Each query term matches tokens exactly, by prefix (sorted vocabulary range scan) or within one typo
+ * (delete-neighbourhood lookup, so fuzzy matching never scans the whole vocabulary).
+ * Every query term has to match; a document's score is the sum of its best weighted match per term.
+ * Writers serialize on the index, readers never lock and may briefly see a document mid-update.
+ */
+@Component
+public class SearchIndex {
+
+    private static final double EXACT_FACTOR = 1.0;
+    private static final double PREFIX_FACTOR = 0.7;
+    private static final double FUZZY_FACTOR = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ConcurrentMap<SearchDocument.Key, SearchDocument> documents = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<SearchDocument.Key, Double>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<String> vocabulary = new ConcurrentSkipListSet<>();
+    // Token with one character removed -> tokens producing it
+    private final ConcurrentMap<String, Set<String>> deletions = new ConcurrentHashMap<>();
+
+    public synchronized void put(SearchDocument document) {
+        remove(document.key());
+        for (Map.Entry<String, Double> term : document.terms().entrySet()) {
+            postings.computeIfAbsent(term.getKey(), token -> {
+                addToVocabulary(token);
+                return new ConcurrentHashMap<>();
+            }).put(document.key(), term.getValue());
+        }
+        documents.put(document.key(), document);
+    }
+
+    public synchronized void remove(SearchDocument.Key key) {
+        SearchDocument existing = documents.remove(key);
+        if (existing == null) {
+            return;
+        }
+        for (String token : existing.terms().keySet()) {
+            ConcurrentMap<SearchDocument.Key, Double> docs = postings.get(token);
+            if (docs == null) {
+                continue;
+            }
+            docs.remove(key);
+            if (docs.isEmpty()) {
+                postings.remove(token);
+                removeFromVocabulary(token);
+            }
+        }
+    }
+
+    public synchronized void removeIf(Predicate<SearchDocument> predicate) {
+        List<SearchDocument.Key> matching = documents.values().stream()
+                .filter(predicate)
+                .map(SearchDocument::key)
+                .toList();
+        matching.forEach(this::remove);
+    }
+
+    public synchronized void replaceAll(Collection<SearchDocument> replacement) {
+        documents.clear();
+        postings.clear();
+        vocabulary.clear();
+        deletions.clear();
+        replacement.forEach(this::put);
+    }
+
+    public SearchDocument get(SearchDocument.Key key) {
+        return documents.get(key);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public int vocabularySize() {
+        return vocabulary.size();
+    }
+
+    /**
+     * Rank documents matching every term of the query, best first
+     */
+    public List<Hit> search(String query, Predicate<SearchDocument> filter, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<SearchDocument.Key, Double> scores = null;
+        for (String term : terms) {
+            Map<SearchDocument.Key, Double> termScores = matchTerm(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((key, score) -> score + termScores.get(key));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<SearchDocument.Key, Double> entry : scores.entrySet()) {
+            SearchDocument document = documents.get(entry.getKey());
+            if (document != null && filter.test(document)) {
+                hits.add(new Hit(document, entry.getValue()));
+            }
+        }
+        hits.sort(Hit.BEST_FIRST);
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    private Map<SearchDocument.Key, Double> matchTerm(String term) {
+        Map<SearchDocument.Key, Double> scores = new HashMap<>();
+        accumulate(scores, term, EXACT_FACTOR);
+
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (String token : vocabulary.subSet(term, false, term + Character.MAX_VALUE, false)) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                accumulate(scores, token, PREFIX_FACTOR);
+            }
+        }
+
+        if (term.length() >= MIN_FUZZY_LENGTH) {
+            for (String token : fuzzyCandidates(term)) {
+                accumulate(scores, token, FUZZY_FACTOR);
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<SearchDocument.Key, Double> scores, String token, double factor) {
+        ConcurrentMap<SearchDocument.Key, Double> docs = postings.get(token);
+        if (docs == null) {
+            return;
+        }
+        docs.forEach((key, weight) -> scores.merge(key, weight * factor, Math::max));
+    }
+
+    /**
+     * Vocabulary tokens exactly one insertion, deletion, substitution or transposition away
+     */
+    private Set<String> fuzzyCandidates(String term) {
+        Set<String> candidates = new HashSet<>();
+        Set<String> termDeletions = deletionsOf(term);
+
+        // Tokens one character longer than the term, or equal after dropping one character each
+        addIfPresent(candidates, deletions.get(term));
+        for (String deletion : termDeletions) {
+            if (vocabulary.contains(deletion)) {
+                candidates.add(deletion);
+            }
+            addIfPresent(candidates, deletions.get(deletion));
+        }
+
+        candidates.remove(term);
+        candidates.removeIf(candidate -> candidate.startsWith(term) || !withinOneEdit(term, candidate));
+        return candidates;
+    }
+
+    private static void addIfPresent(Set<String> target, Set<String> source) {
+        if (source != null) {
+            target.addAll(source);
+        }
+    }
+
+    private void addToVocabulary(String token) {
+        vocabulary.add(token);
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            for (String deletion : deletionsOf(token)) {
+                deletions.computeIfAbsent(deletion, d -> ConcurrentHashMap.newKeySet()).add(token);
+            }
+        }
+    }
+
+    private void removeFromVocabulary(String token) {
+        vocabulary.remove(token);
+        for (String deletion : deletionsOf(token)) {
+            Set<String> tokens = deletions.get(deletion);
+            if (tokens != null) {
+                tokens.remove(token);
+                if (tokens.isEmpty()) {
+                    deletions.remove(deletion);
+                }
+            }
+        }
+    }
+
+    private static Set<String> deletionsOf(String token) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < token.length(); i++) {
+            result.add(token.substring(0, i) + token.substring(i + 1));
+        }
+        return result;
+    }
+
+    /**
+     * Optimal string alignment distance <= 1 (adjacent transpositions count as one edit)
+     */
+    private static boolean withinOneEdit(String a, String b) {
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDiff > 0) {
+            return a.substring(i + 1).equals(b.substring(i));
+        }
+        if (lengthDiff < 0) {
+            return a.substring(i).equals(b.substring(i + 1));
+        }
+        if (i >= a.length()) {
+            return true;
+        }
+        if (a.substring(i + 1).equals(b.substring(i + 1))) {
+            return true;
+        }
+        return i + 1 < a.length()
+                && a.charAt(i) == b.charAt(i + 1)
+                && a.charAt(i + 1) == b.charAt(i)
+                && a.substring(i + 2).equals(b.substring(i + 2));
+    }
+
+    /**
+     * One ranked match; ties go to the better rated document, then the lower id
+     */
+    public record Hit(SearchDocument document, double score) {
+
+        static final Comparator<Hit> BEST_FIRST = Comparator
+                .comparingDouble(Hit::score).reversed()
+                .thenComparing(hit -> hit.document().rating() == null ? 0.0 : hit.document().rating(),
+                        Comparator.reverseOrder())
+                .thenComparingLong(hit -> hit.document().key().id());
+    }
+}
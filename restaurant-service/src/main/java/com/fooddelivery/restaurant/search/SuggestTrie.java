@@ -0,0 +1,307 @@
+package com.fooddelivery.restaurant.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Radix trie (path-compressed prefix tree) of autocomplete suggestions.
+ * Every node caches the most popular suggestions of its subtree, so completing a prefix costs one
+ * walk down the prefix and never visits the subtree. A suggestion is reachable from the start of each
+ * word of its text ("hut" finds "Pizza Hut").
+ *
+ * Writers serialize on the trie and only ever swap in new arrays or nodes, never mutate one a reader
+ * may hold, so readers do not lock.
+ */
+@Component
+public class SuggestTrie {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Suggestion[] NONE = new Suggestion[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    public enum Kind {
+        RESTAURANT,
+        CUISINE,
+        DISH
+    }
+
+    /**
+     * targetId identifies what is suggested (one restaurant, one cuisine, one dish name) across updates
+     */
+    public record Suggestion(Kind kind, String targetId, String text, Long restaurantId, double popularity) {
+
+        static final Comparator<Suggestion> MOST_POPULAR = Comparator
+                .comparingDouble(Suggestion::popularity).reversed()
+                .thenComparing(Suggestion::text)
+                .thenComparing(Suggestion::targetId);
+
+        public static Suggestion restaurant(Long restaurantId, String name, double popularity) {
+            return new Suggestion(Kind.RESTAURANT, "r:" + restaurantId, name, restaurantId, popularity);
+        }
+
+        public static Suggestion cuisine(String cuisine, double popularity) {
+            return new Suggestion(Kind.CUISINE, "c:" + Tokenizer.normalize(cuisine), cuisine, null, popularity);
+        }
+
+        public static Suggestion dish(String name, double popularity) {
+            return new Suggestion(Kind.DISH, "d:" + Tokenizer.normalize(name), name, null, popularity);
+        }
+    }
+
+    private static final class Node {
+        final String label; // Edge label leading into this node
+        volatile Node[] children = NO_CHILDREN; // Sorted by first label character
+        volatile Suggestion[] entries = NONE; // Suggestions whose key ends here
+        volatile Suggestion[] top = NONE; // Most popular suggestions in this subtree
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node withLabel(String newLabel) {
+            Node copy = new Node(newLabel);
+            copy.children = children;
+            copy.entries = entries;
+            copy.top = top;
+            return copy;
+        }
+    }
+
+    private volatile Node root = new Node("");
+
+    /**
+     * Add the suggestion, or replace the one with the same target (e.g. to update its popularity)
+     */
+    public synchronized void put(Suggestion suggestion) {
+        for (String key : keysOf(suggestion.text())) {
+            List<Node> path = insertPath(key);
+            Node node = path.get(path.size() - 1);
+            node.entries = withEntry(node.entries, suggestion);
+            refreshTops(path);
+        }
+    }
+
+    public synchronized void remove(Suggestion suggestion) {
+        for (String key : keysOf(suggestion.text())) {
+            List<Node> path = findPath(key);
+            if (path == null) {
+                continue;
+            }
+            Node node = path.get(path.size() - 1);
+            node.entries = withoutTarget(node.entries, suggestion.targetId());
+            prune(path);
+            refreshTops(path);
+        }
+    }
+
+    public synchronized void clear() {
+        root = new Node("");
+    }
+
+    /**
+     * Most popular suggestions with a word starting with the prefix
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        String key = Tokenizer.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = childFor(node.children, key.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label, key, position);
+            if (position + common == key.length()) {
+                node = child;
+                break;
+            }
+            if (common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            position += common;
+        }
+        Suggestion[] top = node.top;
+        return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    private static Set<String> keysOf(String text) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = Tokenizer.normalize(text);
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Walk to the node for key, creating or splitting nodes on the way
+     */
+    private List<Node> insertPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            Node[] children = node.children;
+            int index = indexOf(children, key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position));
+                node.children = withChild(children, leaf);
+                path.add(leaf);
+                return path;
+            }
+            Node child = children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                // Split the edge: a new middle node takes the shared part, a copy of the child keeps the rest
+                Node tail = child.withLabel(child.label.substring(common));
+                Node middle = new Node(child.label.substring(0, common));
+                middle.children = new Node[]{tail};
+                middle.top = tail.top;
+                node.children = replaced(children, index, middle);
+                child = middle;
+            }
+            path.add(child);
+            node = child;
+            position += common;
+        }
+        return path;
+    }
+
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            Node child = childFor(node.children, key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return null;
+            }
+            path.add(child);
+            node = child;
+            position += child.label.length();
+        }
+        return path;
+    }
+
+    /**
+     * Drop nodes left without suggestions or children, bottom-up
+     */
+    private static void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (node.entries.length > 0 || node.children.length > 0) {
+                return;
+            }
+            Node parent = path.get(i - 1);
+            parent.children = withoutChild(parent.children, node);
+            path.remove(i);
+        }
+    }
+
+    private static void refreshTops(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Suggestion> candidates = new ArrayList<>(Arrays.asList(node.entries));
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(Suggestion.MOST_POPULAR);
+
+            // A suggestion can reach a subtree through several of its words; list it once
+            List<Suggestion> top = new ArrayList<>(MAX_SUGGESTIONS);
+            Set<String> seen = new HashSet<>();
+            for (Suggestion candidate : candidates) {
+                if (seen.add(candidate.targetId())) {
+                    top.add(candidate);
+                    if (top.size() == MAX_SUGGESTIONS) {
+                        break;
+                    }
+                }
+            }
+            node.top = top.toArray(NONE);
+        }
+    }
+
+    private static Suggestion[] withEntry(Suggestion[] entries, Suggestion suggestion) {
+        Suggestion[] kept = withoutTarget(entries, suggestion.targetId());
+        Suggestion[] result = Arrays.copyOf(kept, kept.length + 1);
+        result[kept.length] = suggestion;
+        return result;
+    }
+
+    private static Suggestion[] withoutTarget(Suggestion[] entries, String targetId) {
+        return Arrays.stream(entries)
+                .filter(entry -> !entry.targetId().equals(targetId))
+                .toArray(Suggestion[]::new);
+    }
+
+    private static Node childFor(Node[] children, char first) {
+        int index = indexOf(children, first);
+        return index < 0 ? null : children[index];
+    }
+
+    private static int indexOf(Node[] children, char first) {
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = children[mid].label.charAt(0);
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static Node[] withChild(Node[] children, Node child) {
+        Node[] result = Arrays.copyOf(children, children.length + 1);
+        int i = children.length;
+        while (i > 0 && result[i - 1].label.charAt(0) > child.label.charAt(0)) {
+            result[i] = result[i - 1];
+            i--;
+        }
+        result[i] = child;
+        return result;
+    }
+
+    private static Node[] withoutChild(Node[] children, Node child) {
+        return Arrays.stream(children).filter(node -> node != child).toArray(Node[]::new);
+    }
+
+    private static Node[] replaced(Node[] children, int index, Node replacement) {
+        Node[] result = children.clone();
+        result[index] = replacement;
+        return result;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
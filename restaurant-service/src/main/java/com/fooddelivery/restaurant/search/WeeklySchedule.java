@@ -0,0 +1,176 @@
+package com.fooddelivery.restaurant.search;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A restaurant's opening hours as one bit per minute of the week (Monday 00:00 = bit 0), 1260 bytes.
+ * "Is it open at T" is a single bit test. Spans that close at or before they open run past
+ * midnight into the next day, and Sunday night wraps into Monday morning.
+ *
+ * Per-day schedules use entries separated by ';', each a day list and a list of time ranges:
+ * {@code MON-FRI 11:00-15:00,18:00-23:00; SAT,SUN 10:00-00:00; TUE CLOSED}. Later entries override
+ * earlier ones for the days they name. {@code DAILY} stands for every day.
+ */
+public final class WeeklySchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final List<DateTimeFormatter> TIME_FORMATS = Stream.of("H:mm", "h:mm a", "h:mma", "h a", "ha")
+            .map(pattern -> new DateTimeFormatterBuilder()
+                    .parseCaseInsensitive()
+                    .appendPattern(pattern)
+                    .toFormatter(Locale.ENGLISH))
+            .toList();
+
+    private final long[] bits;
+
+    private WeeklySchedule(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Build from the per-day spec when present, otherwise from the same opening/closing time every day
+     */
+    public static WeeklySchedule parse(String openingHours, String openingTime, String closingTime) {
+        long[] bits = new long[(MINUTES_PER_WEEK + 63) / 64];
+        if (openingHours != null && !openingHours.isBlank()) {
+            parseSpec(bits, openingHours);
+        } else {
+            int open = parseMinuteOfDay(openingTime);
+            int close = parseMinuteOfDay(closingTime);
+            for (DayOfWeek day : DayOfWeek.values()) {
+                setSpan(bits, day, open, close);
+            }
+        }
+        return new WeeklySchedule(bits);
+    }
+
+    public static int minuteOfWeek(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+
+    public boolean isOpenAt(int minuteOfWeek) {
+        int minute = Math.floorMod(minuteOfWeek, MINUTES_PER_WEEK);
+        return (bits[minute >>> 6] & (1L << (minute & 63))) != 0;
+    }
+
+    public boolean isOpenAt(LocalDateTime time) {
+        return isOpenAt(minuteOfWeek(time));
+    }
+
+    public boolean isAlwaysClosed() {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void parseSpec(long[] bits, String spec) {
+        // Resolve overrides per day first, so clearing a day never cuts off the previous night's span
+        Map<DayOfWeek, List<int[]>> spans = new EnumMap<>(DayOfWeek.class);
+        for (String entry : spec.split("[;\\n]")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int split = trimmed.indexOf(' ');
+            if (split < 0) {
+                throw new IllegalArgumentException("Opening hours entry needs days and times: " + trimmed);
+            }
+            Set<DayOfWeek> days = parseDays(trimmed.substring(0, split).trim());
+            String ranges = trimmed.substring(split + 1).trim();
+
+            List<int[]> daySpans = new ArrayList<>();
+            if (!ranges.equalsIgnoreCase("closed")) {
+                for (String range : ranges.split(",")) {
+                    String[] times = range.trim().split("\\s*-\\s*");
+                    if (times.length != 2) {
+                        throw new IllegalArgumentException("Invalid time range: " + range.trim());
+                    }
+                    daySpans.add(new int[]{parseMinuteOfDay(times[0]), parseMinuteOfDay(times[1])});
+                }
+            }
+            for (DayOfWeek day : days) {
+                spans.put(day, daySpans);
+            }
+        }
+        spans.forEach((day, daySpans) -> daySpans.forEach(span -> setSpan(bits, day, span[0], span[1])));
+    }
+
+    private static Set<DayOfWeek> parseDays(String text) {
+        if (text.equalsIgnoreCase("daily")) {
+            return EnumSet.allOf(DayOfWeek.class);
+        }
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String part : text.split(",")) {
+            String[] bounds = part.trim().split("-");
+            DayOfWeek from = parseDay(bounds[0]);
+            DayOfWeek to = bounds.length > 1 ? parseDay(bounds[1]) : from;
+            // Ranges may wrap the week, e.g. FRI-MON
+            for (DayOfWeek day = from; ; day = day.plus(1)) {
+                days.add(day);
+                if (day == to) {
+                    break;
+                }
+            }
+        }
+        return days;
+    }
+
+    private static DayOfWeek parseDay(String text) {
+        String key = text.trim().toUpperCase(Locale.ROOT);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (key.length() >= 3 && day.name().startsWith(key)) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day: " + text.trim());
+    }
+
+    private static int parseMinuteOfDay(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Missing time");
+        }
+        String trimmed = text.trim();
+        if (trimmed.equals("24:00")) {
+            return MINUTES_PER_DAY;
+        }
+        for (DateTimeFormatter format : TIME_FORMATS) {
+            try {
+                LocalTime time = LocalTime.parse(trimmed, format);
+                return time.getHour() * 60 + time.getMinute();
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        throw new IllegalArgumentException("Invalid time: " + trimmed);
+    }
+
+    /**
+     * Mark [open, close) on the given day; a close at or before the open runs into the next day
+     */
+    private static void setSpan(long[] bits, DayOfWeek day, int open, int close) {
+        int start = (day.getValue() - 1) * MINUTES_PER_DAY + open;
+        int length = close > open ? close - open : MINUTES_PER_DAY - open + close;
+        for (int i = 0; i < length; i++) {
+            int minute = (start + i) % MINUTES_PER_WEEK;
+            bits[minute >>> 6] |= 1L << (minute & 63);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.cache.CatalogSnapshotFile;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a copy of the active catalog on local disk, so a restarted instance warms up without reading
+ * the whole catalog from MySQL.
+ *
+ * The file is rewritten periodically whenever the catalog changed. At startup, before readiness is reported,
+ * the in-memory indexes built on ApplicationReadyEvent read their rows through activeRestaurants() and
+ * availableMenuItems(): from the snapshot if its catalog version still matches the database, otherwise
+ * (missing, unreadable or stale file) from the repositories as before. Derived indexes are rebuilt from those rows
+ * in memory. Once the instance accepts traffic the rows are released and both methods read the database.
+ */
+@Service
+@Slf4j
+public class CatalogSnapshotService {
+    
+    /**
+     * One restaurant's available items at the menu version the snapshot was taken at
+     */
+    public record SnapshotMenu(Long restaurantId, long version, List<MenuItem> items) {
+    }
+    
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Path path;
+    private final int preloadMenus;
+    
+    // Startup rows, until the instance is ready
+    private CatalogSnapshotFile.Contents startup;
+    private boolean startupLoaded;
+    private boolean released;
+    private volatile CatalogSnapshotFile.Version lastWritten;
+    
+    public CatalogSnapshotService(
+            RestaurantRepository restaurantRepository,
+            MenuItemRepository menuItemRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${restaurant.snapshot.enabled:true}") boolean enabled,
+            @Value("${restaurant.snapshot.path:data/catalog.snapshot}") String path,
+            @Value("${restaurant.snapshot.preload-menus:2000}") int preloadMenus) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        // One read-only transaction, so the version and the rows describe the same catalog (InnoDB consistent read)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.preloadMenus = Math.max(0, preloadMenus);
+    }
+    
+    /**
+     * Active restaurants for building an index: from the snapshot during startup when it is current
+     */
+    public synchronized List<Restaurant> activeRestaurants() {
+        CatalogSnapshotFile.Contents contents = startupContents();
+        return contents != null ? contents.restaurants() : restaurantRepository.findByIsActiveTrue();
+    }
+    
+    /**
+     * Available menu items for building an index: from the snapshot during startup when it is current
+     */
+    public synchronized List<MenuItem> availableMenuItems() {
+        CatalogSnapshotFile.Contents contents = startupContents();
+        return contents != null ? contents.menuItems() : menuItemRepository.findByIsAvailableTrue();
+    }
+    
+    /**
+     * Menus of the most reviewed restaurants in a current startup snapshot, for warming the menu cache;
+     * empty when there is none
+     */
+    public synchronized List<SnapshotMenu> startupMenus() {
+        CatalogSnapshotFile.Contents contents = startupContents();
+        if (contents == null) {
+            return List.of();
+        }
+        Map<Long, List<MenuItem>> itemsByRestaurant = contents.menuItems()
+                .stream()
+                .collect(Collectors.groupingBy(MenuItem::getRestaurantId));
+        return contents.restaurants()
+                .stream()
+                .sorted(Comparator.comparing((Restaurant r) -> r.getTotalReviews() == null ? 0 : r.getTotalReviews())
+                        .reversed())
+                .limit(preloadMenus)
+                .map(r -> new SnapshotMenu(r.getId(), r.getMenuVersion() == null ? 0L : r.getMenuVersion(),
+                        itemsByRestaurant.getOrDefault(r.getId(), List.of())))
+                .toList();
+    }
+    
+    /**
+     * Readiness is reported after every ApplicationReadyEvent listener ran, so the indexes are built by now
+     */
+    @EventListener
+    public synchronized void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !released) {
+            released = true;
+            startup = null;
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${restaurant.snapshot.write-interval-ms:300000}",
+               fixedDelayString = "${restaurant.snapshot.write-interval-ms:300000}")
+    public void writeSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            CatalogSnapshotFile.Contents contents = readOnlyTransaction.execute(status -> {
+                CatalogSnapshotFile.Version version = currentVersion();
+                if (version.equals(lastWritten) && Files.isRegularFile(path)) {
+                    return null;
+                }
+                return new CatalogSnapshotFile.Contents(version, LocalDateTime.now(),
+                        restaurantRepository.findByIsActiveTrue(), menuItemRepository.findByIsAvailableTrue());
+            });
+            if (contents == null) {
+                return;
+            }
+            CatalogSnapshotFile.write(path, contents);
+            lastWritten = contents.version();
+            log.info("Catalog snapshot written to {}: {} restaurants, {} menu items in {} ms", path,
+                    contents.restaurants().size(), contents.menuItems().size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to write catalog snapshot to {}", path, e);
+        }
+    }
+    
+    private CatalogSnapshotFile.Contents startupContents() {
+        if (released) {
+            return null;
+        }
+        if (!startupLoaded) {
+            startupLoaded = true;
+            startup = enabled ? loadSnapshot() : null;
+        }
+        return startup;
+    }
+    
+    private CatalogSnapshotFile.Contents loadSnapshot() {
+        if (!Files.isRegularFile(path)) {
+            log.info("No catalog snapshot at {}, building indexes from the database", path);
+            return null;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            CatalogSnapshotFile.Contents contents = CatalogSnapshotFile.read(path);
+            CatalogSnapshotFile.Version current = readOnlyTransaction.execute(status -> currentVersion());
+            if (!contents.version().equals(current)) {
+                log.info("Catalog snapshot taken at {} is stale, discarding it", contents.takenAt());
+                Files.deleteIfExists(path);
+                return null;
+            }
+            lastWritten = current;
+            log.info("Catalog snapshot taken at {} loaded: {} restaurants, {} menu items in {} ms",
+                    contents.takenAt(), contents.restaurants().size(), contents.menuItems().size(),
+                    System.currentTimeMillis() - start);
+            return contents;
+        } catch (Exception e) {
+            log.warn("Failed to load catalog snapshot from {}, building indexes from the database", path, e);
+            return null;
+        }
+    }
+    
+    private CatalogSnapshotFile.Version currentVersion() {
+        RestaurantRepository.RestaurantsVersion restaurants = restaurantRepository.findRestaurantsVersion();
+        MenuItemRepository.MenuItemsVersion menuItems = menuItemRepository.findMenuItemsVersion();
+        return new CatalogSnapshotFile.Version(
+                toLong(restaurants.getRestaurantCount()),
+                toLong(restaurants.getMenuVersionSum()),
+                toLong(restaurants.getReviewSum()),
+                restaurants.getLastUpdatedAt(),
+                toLong(menuItems.getItemCount()),
+                menuItems.getLastUpdatedAt());
+    }
+    
+    private static long toLong(Long value) {
+        return value == null ? 0L : value;
+    }
+}
@@ -0,0 +1,254 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.CategoryFacetDTO;
+import com.fooddelivery.restaurant.dto.CuisineFacetDTO;
+import com.fooddelivery.restaurant.dto.MenuFacetsDTO;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Browse facets served from memory: per restaurant, its menu categories with item and vegetarian counts;
+ * across the catalog, how many active restaurants list each cuisine. Only available items count.
+ *
+ * Writers apply one catalog change at a time and only recount what it touched (one restaurant's menu,
+ * one cuisine). Results are published as new immutable lists, so readers never lock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FacetService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private record Item(Long restaurantId, String category, boolean vegetarian) {
+    }
+
+    private static final class CategoryCount {
+        final String text;
+        int items;
+        int vegetarian;
+
+        CategoryCount(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class CuisineCount {
+        final String text;
+        int restaurants;
+
+        CuisineCount(String text) {
+            this.text = text;
+        }
+    }
+
+    // Writer-side state, guarded by this service
+    private final Map<Long, Item> items = new HashMap<>();
+    private final Map<Long, TreeMap<Long, Item>> itemsByRestaurant = new HashMap<>();
+    private final Map<Long, String> cuisineByRestaurant = new HashMap<>();
+    private final Map<String, CuisineCount> cuisineCounts = new HashMap<>();
+
+    // Published to readers
+    private final ConcurrentMap<Long, MenuFacetsDTO> menuFacets = new ConcurrentHashMap<>();
+    private volatile List<CuisineFacetDTO> cuisineFacets = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void buildIndex() {
+        long start = System.currentTimeMillis();
+        items.clear();
+        itemsByRestaurant.clear();
+        cuisineByRestaurant.clear();
+        cuisineCounts.clear();
+        menuFacets.clear();
+
+        catalogSnapshotService.activeRestaurants().forEach(r -> setCuisine(r.getId(), r.getCuisine()));
+        for (MenuItem menuItem : catalogSnapshotService.availableMenuItems()) {
+            Item item = itemOf(menuItem);
+            items.put(menuItem.getId(), item);
+            itemsByRestaurant.computeIfAbsent(item.restaurantId(), id -> new TreeMap<>()).put(menuItem.getId(), item);
+        }
+        itemsByRestaurant.keySet().forEach(this::publishMenu);
+        publishCuisines();
+        log.info("Facet index built: {} menus, {} cuisines in {} ms",
+                menuFacets.size(), cuisineCounts.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            if (event.isRestaurantChange()) {
+                Restaurant restaurant = restaurantRepository.findById(event.getRestaurantId()).orElse(null);
+                boolean active = restaurant != null && Boolean.TRUE.equals(restaurant.getIsActive());
+                if (setCuisine(event.getRestaurantId(), active ? restaurant.getCuisine() : null)) {
+                    publishCuisines();
+                }
+            } else if (event.getMenuItemId() != null) {
+                MenuItem menuItem = menuItemRepository.findById(event.getMenuItemId()).orElse(null);
+                setItem(event.getMenuItemId(), menuItem != null && Boolean.TRUE.equals(menuItem.getIsAvailable())
+                        ? itemOf(menuItem) : null);
+            } else {
+                reloadMenu(event.getRestaurantId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to update facet index for restaurant {}", event.getRestaurantId(), e);
+        }
+    }
+
+    /**
+     * Categories of a restaurant's menu with their counts; empty when it has no available items
+     */
+    public MenuFacetsDTO getMenuFacets(Long restaurantId) {
+        MenuFacetsDTO facets = menuFacets.get(restaurantId);
+        return facets != null ? facets : new MenuFacetsDTO(restaurantId, 0, 0, List.of());
+    }
+
+    /**
+     * Cuisines of active restaurants, most common first
+     */
+    public List<CuisineFacetDTO> getCuisineFacets() {
+        return cuisineFacets;
+    }
+
+    private void reloadMenu(Long restaurantId) {
+        Map<Long, Item> available = menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId)
+                .stream()
+                .collect(Collectors.toMap(MenuItem::getId, FacetService::itemOf));
+        TreeMap<Long, Item> previous = itemsByRestaurant.remove(restaurantId);
+        if (previous != null) {
+            previous.keySet().forEach(items::remove);
+        }
+        Set<Long> moved = new HashSet<>();
+        available.forEach((id, item) -> {
+            Item old = items.put(id, item);
+            if (old != null && !old.restaurantId().equals(restaurantId)) {
+                removeFromMenu(old.restaurantId(), id);
+                moved.add(old.restaurantId());
+            }
+        });
+        if (!available.isEmpty()) {
+            itemsByRestaurant.put(restaurantId, new TreeMap<>(available));
+        }
+        publishMenu(restaurantId);
+        moved.forEach(this::publishMenu);
+    }
+
+    /**
+     * Move one menu item to its new state (null when unavailable or gone) and recount the menus it left or joined
+     */
+    private void setItem(Long menuItemId, Item next) {
+        Item previous = items.get(menuItemId);
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+        if (previous != null) {
+            items.remove(menuItemId);
+            removeFromMenu(previous.restaurantId(), menuItemId);
+        }
+        if (next != null) {
+            items.put(menuItemId, next);
+            itemsByRestaurant.computeIfAbsent(next.restaurantId(), id -> new TreeMap<>()).put(menuItemId, next);
+            publishMenu(next.restaurantId());
+        }
+        if (previous != null && (next == null || !previous.restaurantId().equals(next.restaurantId()))) {
+            publishMenu(previous.restaurantId());
+        }
+    }
+
+    private void removeFromMenu(Long restaurantId, Long menuItemId) {
+        TreeMap<Long, Item> menu = itemsByRestaurant.get(restaurantId);
+        if (menu != null) {
+            menu.remove(menuItemId);
+            if (menu.isEmpty()) {
+                itemsByRestaurant.remove(restaurantId);
+            }
+        }
+    }
+
+    /**
+     * Recount one menu. Categories are grouped ignoring case, as the category filter matches them, and are
+     * labelled and ordered by their oldest item.
+     */
+    private void publishMenu(Long restaurantId) {
+        TreeMap<Long, Item> menu = itemsByRestaurant.get(restaurantId);
+        if (menu == null) {
+            menuFacets.remove(restaurantId);
+            return;
+        }
+        Map<String, CategoryCount> counts = new LinkedHashMap<>();
+        int vegetarian = 0;
+        for (Item item : menu.values()) {
+            CategoryCount count = counts.computeIfAbsent(item.category().toLowerCase(Locale.ROOT),
+                    key -> new CategoryCount(item.category()));
+            count.items++;
+            if (item.vegetarian()) {
+                count.vegetarian++;
+                vegetarian++;
+            }
+        }
+        List<CategoryFacetDTO> categories = new ArrayList<>(counts.size());
+        counts.values().forEach(count -> categories.add(new CategoryFacetDTO(count.text, count.items, count.vegetarian)));
+        menuFacets.put(restaurantId, new MenuFacetsDTO(restaurantId, menu.size(), vegetarian, List.copyOf(categories)));
+    }
+
+    /**
+     * Move a restaurant to its new cuisine (null when no longer listed); true when any count changed
+     */
+    private boolean setCuisine(Long restaurantId, String cuisine) {
+        String next = cuisine == null || cuisine.isBlank() ? null : cuisine.trim().toLowerCase();
+        String previous = cuisineByRestaurant.get(restaurantId);
+        if (Objects.equals(previous, next)) {
+            return false;
+        }
+        if (previous != null) {
+            cuisineByRestaurant.remove(restaurantId);
+            CuisineCount count = cuisineCounts.get(previous);
+            if (--count.restaurants <= 0) {
+                cuisineCounts.remove(previous);
+            }
+        }
+        if (next != null) {
+            cuisineByRestaurant.put(restaurantId, next);
+            cuisineCounts.computeIfAbsent(next, key -> new CuisineCount(cuisine.trim())).restaurants++;
+        }
+        return true;
+    }
+
+    private void publishCuisines() {
+        cuisineFacets = cuisineCounts.values().stream()
+                .sorted(Comparator.comparingInt((CuisineCount count) -> count.restaurants).reversed()
+                        .thenComparing(count -> count.text))
+                .map(count -> new CuisineFacetDTO(count.text, count.restaurants))
+                .toList();
+    }
+
+    private static Item itemOf(MenuItem menuItem) {
+        String category = menuItem.getCategory() == null ? "" : menuItem.getCategory().trim();
+        return new Item(menuItem.getRestaurantId(), category, Boolean.TRUE.equals(menuItem.getIsVegetarian()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.search.GeoIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@link GeoIndex} in step with active, geo-located restaurants and answers radius queries
+ */
+@Service
+@Slf4j
+public class GeoService {
+    
+    private final RestaurantRepository restaurantRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final GeoIndex geoIndex;
+    private final double defaultDeliveryRadiusKm;
+    private final double maxSearchRadiusKm;
+    
+    public GeoService(
+            RestaurantRepository restaurantRepository,
+            CatalogSnapshotService catalogSnapshotService,
+            GeoIndex geoIndex,
+            @Value("${restaurant.geo.default-delivery-radius-km:8}") double defaultDeliveryRadiusKm,
+            @Value("${restaurant.geo.max-search-radius-km:50}") double maxSearchRadiusKm) {
+        this.restaurantRepository = restaurantRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.geoIndex = geoIndex;
+        this.defaultDeliveryRadiusKm = defaultDeliveryRadiusKm;
+        this.maxSearchRadiusKm = maxSearchRadiusKm;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        List<GeoIndex.Place> places = catalogSnapshotService.activeRestaurants()
+                .stream()
+                .filter(this::isLocated)
+                .map(GeoIndex.Place::of)
+                .collect(Collectors.toList());
+        geoIndex.replaceAll(places);
+        log.info("Geo index built: {} located restaurants", geoIndex.size());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.isRestaurantChange()) {
+            return;
+        }
+        try {
+            Restaurant restaurant = restaurantRepository.findById(event.getRestaurantId()).orElse(null);
+            if (restaurant != null && Boolean.TRUE.equals(restaurant.getIsActive()) && isLocated(restaurant)) {
+                geoIndex.put(GeoIndex.Place.of(restaurant));
+            } else {
+                geoIndex.remove(event.getRestaurantId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to update geo index for restaurant {}", event.getRestaurantId(), e);
+        }
+    }
+    
+    /**
+     * Restaurants within radiusKm that also deliver to the point, closest first
+     */
+    public List<GeoIndex.Nearby> findNearby(double latitude, double longitude, Double radiusKm,
+                                            Predicate<GeoIndex.Place> filter, int limit) {
+        validateCoordinates(latitude, longitude);
+        double radius = radiusKm == null ? defaultDeliveryRadiusKm : radiusKm;
+        if (radius <= 0 || radius > maxSearchRadiusKm) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + maxSearchRadiusKm + " km");
+        }
+        
+        // Every candidate is already inside the radius, so the delivery-range check stays cheap
+        return geoIndex.nearby(latitude, longitude, radius, filter, Integer.MAX_VALUE)
+                .stream()
+                .filter(nearby -> nearby.distanceKm() <= deliveryRadiusOf(nearby.place()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+    
+    public static void validateCoordinates(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Latitude and longitude must be provided together");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+    }
+    
+    private double deliveryRadiusOf(GeoIndex.Place place) {
+        return place.deliveryRadiusKm() != null ? place.deliveryRadiusKm() : defaultDeliveryRadiusKm;
+    }
+    
+    private boolean isLocated(Restaurant restaurant) {
+        return restaurant.getLatitude() != null && restaurant.getLongitude() != null;
+    }
+}
@@ -0,0 +1,237 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.HomeFeedDTO;
+import com.fooddelivery.restaurant.dto.RestaurantDTO;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+
+/**
+ * Precomputed home feed: the top-K active restaurants overall and per cuisine.
+ *
+ * Lists are rebuilt off the request path (periodically, and shortly after restaurant changes) into
+ * fresh arrays that are published with a single volatile write and never modified afterwards, so
+ * readers only slice the current arrays and never lock.
+ *
+ * Ranking blends a Bayesian average rating (few reviews pull towards the catalog mean) with how fast
+ * the restaurant delivers right now (its live delivery time under the current kitchen load).
+ */
+@Service
+@Slf4j
+public class HomeFeedService {
+    
+    // Reviews a restaurant needs before its own average outweighs the catalog mean
+    private static final double PRIOR_REVIEWS = 20.0;
+    private static final double RATING_WEIGHT = 0.8;
+    private static final double DELIVERY_WEIGHT = 0.2;
+    private static final int MAX_DELIVERY_MINUTES = 90;
+    private static final RestaurantDTO[] EMPTY = new RestaurantDTO[0];
+    
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantService restaurantService;
+    private final KitchenLoadService kitchenLoadService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final int topK;
+    private final long maxAgeMs;
+    
+    private volatile Feed feed = new Feed(EMPTY, Map.of(), List.of(), null, 0L, -1L);
+    private volatile boolean dirty;
+    
+    public HomeFeedService(RestaurantRepository restaurantRepository,
+                           RestaurantService restaurantService,
+                           KitchenLoadService kitchenLoadService,
+                           CatalogSnapshotService catalogSnapshotService,
+                           @Value("${restaurant.feed.top-k:50}") int topK,
+                           @Value("${restaurant.feed.max-age-ms:300000}") long maxAgeMs) {
+        this.restaurantRepository = restaurantRepository;
+        this.restaurantService = restaurantService;
+        this.kitchenLoadService = kitchenLoadService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.topK = Math.max(1, topK);
+        this.maxAgeMs = maxAgeMs;
+    }
+    
+    /**
+     * One immutable generation of the feed; cuisines are keyed lowercase, in best-first order
+     */
+    private record Feed(RestaurantDTO[] top, Map<String, RestaurantDTO[]> byCuisine,
+                        List<String> cuisineOrder, LocalDateTime generatedAt, long builtAtMillis,
+                        long loadVersion) {
+    }
+    
+    private record Scored(Restaurant restaurant, double score) {
+        static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::score)
+                .thenComparing(scored -> scored.restaurant().getId(), Comparator.reverseOrder());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildFeed() {
+        rebuild(catalogSnapshotService::activeRestaurants);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isRestaurantChange()) {
+            dirty = true;
+        }
+    }
+    
+    /**
+     * Rebuild when restaurants or live delivery times changed since the last build, or when the feed is getting old
+     */
+    @Scheduled(fixedDelayString = "${restaurant.feed.check-interval-ms:10000}")
+    public void refreshIfStale() {
+        Feed current = feed;
+        if (dirty
+                || current.loadVersion() != kitchenLoadService.version()
+                || System.currentTimeMillis() - current.builtAtMillis() >= maxAgeMs) {
+            rebuild();
+        }
+    }
+    
+    public void rebuild() {
+        rebuild(restaurantRepository::findByIsActiveTrue);
+    }
+    
+    private synchronized void rebuild(Supplier<List<Restaurant>> source) {
+        dirty = false;
+        long loadVersion = kitchenLoadService.version();
+        try {
+            List<Restaurant> restaurants = source.get();
+            double catalogMean = catalogMeanRating(restaurants);
+            
+            PriorityQueue<Scored> top = new PriorityQueue<>(Scored.WORST_FIRST);
+            Map<String, PriorityQueue<Scored>> byCuisine = new HashMap<>();
+            for (Restaurant restaurant : restaurants) {
+                Scored scored = new Scored(restaurant, score(restaurant, catalogMean));
+                offer(top, scored);
+                if (restaurant.getCuisine() != null && !restaurant.getCuisine().isBlank()) {
+                    offer(byCuisine.computeIfAbsent(restaurant.getCuisine().trim().toLowerCase(),
+                            cuisine -> new PriorityQueue<>(Scored.WORST_FIRST)), scored);
+                }
+            }
+            
+            Map<String, RestaurantDTO[]> cuisineLists = new HashMap<>();
+            Map<String, Double> bestScore = new HashMap<>();
+            byCuisine.forEach((cuisine, heap) -> {
+                List<Scored> ranked = drainBestFirst(heap);
+                bestScore.put(cuisine, ranked.get(0).score());
+                cuisineLists.put(cuisine, toArray(ranked));
+            });
+            List<String> cuisineOrder = bestScore.keySet().stream()
+                    .sorted(Comparator.<String, Double>comparing(bestScore::get, Comparator.reverseOrder())
+                            .thenComparing(Comparator.<String>naturalOrder()))
+                    .toList();
+            
+            feed = new Feed(toArray(drainBestFirst(top)), Map.copyOf(cuisineLists), cuisineOrder,
+                    LocalDateTime.now(), System.currentTimeMillis(), loadVersion);
+            log.debug("Home feed rebuilt: {} restaurants, {} cuisines", restaurants.size(), cuisineOrder.size());
+        } catch (Exception e) {
+            // Keep serving the previous generation
+            dirty = true;
+            log.error("Failed to rebuild home feed", e);
+        }
+    }
+    
+    /**
+     * Best restaurants overall, or within one cuisine
+     */
+    public List<RestaurantDTO> getTop(String cuisineType, int offset, int limit) {
+        RestaurantDTO[] ranked = cuisineType == null || cuisineType.isBlank()
+                ? feed.top()
+                : feed.byCuisine().getOrDefault(cuisineType.trim().toLowerCase(), EMPTY);
+        return slice(ranked, offset, limit);
+    }
+    
+    /**
+     * The global list plus the first perCuisine entries of every cuisine
+     */
+    public HomeFeedDTO getHomeFeed(int limit, int perCuisine) {
+        Feed current = feed;
+        Map<String, List<RestaurantDTO>> byCuisine = new LinkedHashMap<>();
+        for (String cuisine : current.cuisineOrder()) {
+            RestaurantDTO[] ranked = current.byCuisine().get(cuisine);
+            byCuisine.put(ranked[0].getCuisine(), slice(ranked, 0, perCuisine));
+        }
+        return new HomeFeedDTO(slice(current.top(), 0, limit), byCuisine, current.generatedAt());
+    }
+    
+    private void offer(PriorityQueue<Scored> heap, Scored scored) {
+        if (heap.size() < topK) {
+            heap.add(scored);
+        } else if (Scored.WORST_FIRST.compare(scored, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(scored);
+        }
+    }
+    
+    private static List<Scored> drainBestFirst(PriorityQueue<Scored> heap) {
+        List<Scored> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll());
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+    
+    private RestaurantDTO[] toArray(List<Scored> ranked) {
+        return ranked.stream()
+                .map(scored -> restaurantService.convertToDTO(scored.restaurant()))
+                .toArray(RestaurantDTO[]::new);
+    }
+    
+    private static List<RestaurantDTO> slice(RestaurantDTO[] ranked, int offset, int limit) {
+        int from = Math.min(Math.max(offset, 0), ranked.length);
+        int to = Math.min(from + Math.max(limit, 0), ranked.length);
+        return List.of(Arrays.copyOfRange(ranked, from, to));
+    }
+    
+    private static double catalogMeanRating(List<Restaurant> restaurants) {
+        double ratingSum = 0;
+        long reviews = 0;
+        for (Restaurant restaurant : restaurants) {
+            int count = restaurant.getTotalReviews() == null ? 0 : restaurant.getTotalReviews();
+            if (count > 0 && restaurant.getRating() != null) {
+                ratingSum += restaurant.getRating() * count;
+                reviews += count;
+            }
+        }
+        return reviews == 0 ? 0.0 : ratingSum / reviews;
+    }
+    
+    /**
+     * Composite score in [0, 1]
+     */
+    private double score(Restaurant restaurant, double catalogMean) {
+        int reviews = restaurant.getTotalReviews() == null ? 0 : restaurant.getTotalReviews();
+        double rating = restaurant.getRating() == null ? 0.0 : restaurant.getRating();
+        double bayesianRating = (reviews * rating + PRIOR_REVIEWS * catalogMean) / (reviews + PRIOR_REVIEWS);
+        
+        int deliveryMinutes = restaurant.getEstimatedDeliveryTime() == null
+                ? MAX_DELIVERY_MINUTES
+                : Math.min(Math.max(kitchenLoadService.liveDeliveryTime(
+                        restaurant.getId(), restaurant.getEstimatedDeliveryTime()), 0), MAX_DELIVERY_MINUTES);
+        double speed = 1.0 - (double) deliveryMinutes / MAX_DELIVERY_MINUTES;
+        
+        return RATING_WEIGHT * bayesianRating / 5.0 + DELIVERY_WEIGHT * speed;
+    }
+}
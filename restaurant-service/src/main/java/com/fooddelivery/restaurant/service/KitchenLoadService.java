@@ -0,0 +1,246 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live kitchen load per restaurant, fed by order lifecycle events: orders confirmed but not yet ready,
+ * and a moving average of confirm-to-ready time. Everything is in memory and updated with atomics;
+ * nothing is written to the database.
+ *
+ * The live delivery time never drops below the restaurant's stored estimate. It grows by how much
+ * slower the kitchen currently is than usual, plus the wait for orders queued beyond what the kitchen
+ * prepares in parallel, and is rounded up to whole steps so it does not flicker. version() changes
+ * whenever any restaurant's live estimate does, so precomputed views know when to rebuild.
+ */
+@Service
+@Slf4j
+public class KitchenLoadService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final double expectedPrepMinutes;
+    private final int kitchenParallelism;
+    private final double ewmaAlpha;
+    private final long sampleTtlMillis;
+    private final Duration maxOrderAge;
+    private final int maxExtraMinutes;
+    private final int stepMinutes;
+
+    private final ConcurrentMap<Long, Load> loads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, ActiveOrder> activeOrders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Integer> baseDeliveryTimes = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public KitchenLoadService(
+            RestaurantRepository restaurantRepository,
+            CatalogSnapshotService catalogSnapshotService,
+            @Value("${restaurant.load.expected-prep-minutes:15}") double expectedPrepMinutes,
+            @Value("${restaurant.load.kitchen-parallelism:4}") int kitchenParallelism,
+            @Value("${restaurant.load.ewma-alpha:0.2}") double ewmaAlpha,
+            @Value("${restaurant.load.sample-ttl-minutes:60}") long sampleTtlMinutes,
+            @Value("${restaurant.load.max-order-age-minutes:180}") long maxOrderAgeMinutes,
+            @Value("${restaurant.load.max-extra-minutes:60}") int maxExtraMinutes,
+            @Value("${restaurant.load.step-minutes:5}") int stepMinutes) {
+        this.restaurantRepository = restaurantRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.expectedPrepMinutes = expectedPrepMinutes;
+        this.kitchenParallelism = Math.max(1, kitchenParallelism);
+        this.ewmaAlpha = ewmaAlpha;
+        this.sampleTtlMillis = Duration.ofMinutes(sampleTtlMinutes).toMillis();
+        this.maxOrderAge = Duration.ofMinutes(maxOrderAgeMinutes);
+        this.maxExtraMinutes = maxExtraMinutes;
+        this.stepMinutes = Math.max(1, stepMinutes);
+    }
+
+    private static final class Load {
+        final AtomicInteger activeOrders = new AtomicInteger();
+        // Confirm-to-ready EWMA in minutes, as double bits; NaN until the first sample
+        final AtomicLong prepMinutesBits = new AtomicLong(Double.doubleToLongBits(Double.NaN));
+        volatile long lastSampleAt;
+        // Extra minutes last reported through version()
+        final AtomicInteger publishedExtra = new AtomicInteger();
+    }
+
+    private record ActiveOrder(Long restaurantId, LocalDateTime confirmedAt, long trackedAt) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBaseDeliveryTimes() {
+        catalogSnapshotService.activeRestaurants().forEach(this::rememberBase);
+        log.info("Kitchen load tracking ready for {} restaurants", baseDeliveryTimes.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.isRestaurantChange()) {
+            return;
+        }
+        restaurantRepository.findById(event.getRestaurantId())
+                .filter(r -> Boolean.TRUE.equals(r.getIsActive()))
+                .ifPresentOrElse(this::rememberBase, () -> baseDeliveryTimes.remove(event.getRestaurantId()));
+    }
+
+    /**
+     * The kitchen accepted the order (confirmed, or seen preparing without a confirmation)
+     */
+    public void orderStarted(Long orderId, Long restaurantId, LocalDateTime at) {
+        if (orderId == null || restaurantId == null) {
+            return;
+        }
+        ActiveOrder order = new ActiveOrder(restaurantId, at != null ? at : LocalDateTime.now(), System.currentTimeMillis());
+        if (activeOrders.putIfAbsent(orderId, order) == null) {
+            Load load = loadOf(restaurantId);
+            load.activeOrders.incrementAndGet();
+            publishIfChanged(restaurantId, load);
+        }
+    }
+
+    /**
+     * The order is ready; its confirm-to-ready time becomes a latency sample
+     */
+    public void orderReady(Long orderId, LocalDateTime at) {
+        ActiveOrder order = orderId == null ? null : activeOrders.remove(orderId);
+        if (order == null) {
+            return;
+        }
+        Load load = loadOf(order.restaurantId());
+        load.activeOrders.decrementAndGet();
+        double minutes = Duration.between(order.confirmedAt(), at != null ? at : LocalDateTime.now()).toMillis() / 60000.0;
+        if (minutes >= 0) {
+            recordSample(load, minutes);
+        }
+        publishIfChanged(order.restaurantId(), load);
+    }
+
+    /**
+     * The order left the kitchen without a usable sample (e.g. cancelled)
+     */
+    public void orderDropped(Long orderId) {
+        ActiveOrder order = orderId == null ? null : activeOrders.remove(orderId);
+        if (order != null) {
+            Load load = loadOf(order.restaurantId());
+            load.activeOrders.decrementAndGet();
+            publishIfChanged(order.restaurantId(), load);
+        }
+    }
+
+    /**
+     * Forget orders whose ready/cancel event was missed, and let old latency samples age out
+     */
+    @Scheduled(fixedDelayString = "${restaurant.load.sweep-interval-ms:30000}")
+    public void sweep() {
+        long cutoff = System.currentTimeMillis() - maxOrderAge.toMillis();
+        activeOrders.forEach((orderId, order) -> {
+            if (order.trackedAt() < cutoff) {
+                orderDropped(orderId);
+            }
+        });
+        loads.forEach(this::publishIfChanged);
+    }
+
+    /**
+     * Changes whenever any restaurant's live delivery time does
+     */
+    public long version() {
+        return version.get();
+    }
+
+    public int liveDeliveryTime(Long restaurantId, Integer baseDeliveryTime) {
+        return (baseDeliveryTime == null ? 0 : baseDeliveryTime) + extraMinutes(restaurantId);
+    }
+
+    /**
+     * Minutes the restaurant's kitchen load currently adds to its stored estimate
+     */
+    public int extraMinutes(Long restaurantId) {
+        Load load = restaurantId == null ? null : loads.get(restaurantId);
+        return load == null ? 0 : extraMinutes(load);
+    }
+
+    /**
+     * Restaurants whose stored estimate is within maxMinutes but whose live one is not
+     */
+    public Set<Long> restaurantsSlowerThan(int maxMinutes) {
+        Set<Long> slower = new HashSet<>();
+        for (Map.Entry<Long, Load> entry : loads.entrySet()) {
+            Integer base = baseDeliveryTimes.get(entry.getKey());
+            if (base != null && base <= maxMinutes && base + extraMinutes(entry.getValue()) > maxMinutes) {
+                slower.add(entry.getKey());
+            }
+        }
+        return slower;
+    }
+
+    public int activeOrders(Long restaurantId) {
+        Load load = loads.get(restaurantId);
+        return load == null ? 0 : Math.max(load.activeOrders.get(), 0);
+    }
+
+    private int extraMinutes(Load load) {
+        double prep = currentPrepMinutes(load);
+        if (Double.isNaN(prep)) {
+            prep = expectedPrepMinutes;
+        }
+        double slowdown = Math.max(0.0, prep - expectedPrepMinutes);
+        int queued = Math.max(0, load.activeOrders.get() - kitchenParallelism);
+        double queueWait = queued * prep / kitchenParallelism;
+        double extra = Math.min(maxExtraMinutes, slowdown + queueWait);
+        return extra <= 0 ? 0 : (int) Math.ceil(extra / stepMinutes) * stepMinutes;
+    }
+
+    private double currentPrepMinutes(Load load) {
+        if (System.currentTimeMillis() - load.lastSampleAt > sampleTtlMillis) {
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(load.prepMinutesBits.get());
+    }
+
+    private void recordSample(Load load, double minutes) {
+        while (true) {
+            long bits = load.prepMinutesBits.get();
+            double current = Double.longBitsToDouble(bits);
+            boolean fresh = !Double.isNaN(current) && System.currentTimeMillis() - load.lastSampleAt <= sampleTtlMillis;
+            double next = fresh ? ewmaAlpha * minutes + (1 - ewmaAlpha) * current : minutes;
+            if (load.prepMinutesBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                load.lastSampleAt = System.currentTimeMillis();
+                return;
+            }
+        }
+    }
+
+    private void publishIfChanged(Long restaurantId, Load load) {
+        int extra = extraMinutes(load);
+        if (load.publishedExtra.getAndSet(extra) != extra) {
+            version.incrementAndGet();
+            log.debug("Live delivery time of restaurant {} is now base + {} min", restaurantId, extra);
+        }
+    }
+
+    private Load loadOf(Long restaurantId) {
+        return loads.computeIfAbsent(restaurantId, id -> new Load());
+    }
+
+    private void rememberBase(Restaurant restaurant) {
+        baseDeliveryTimes.put(restaurant.getId(),
+                restaurant.getEstimatedDeliveryTime() == null ? 0 : restaurant.getEstimatedDeliveryTime());
+    }
+}
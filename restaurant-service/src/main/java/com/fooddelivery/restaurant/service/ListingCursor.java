@@ -0,0 +1,35 @@
+package com.fooddelivery.restaurant.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque pagination cursor: where the previous page ended, and in which listing.
+ * For keyset listings position is the last id and value its sort column; for ranked search it is an offset.
+ */
+record ListingCursor(String scope, long position, String value) {
+
+    String encode() {
+        String raw = scope + "|" + position + "|" + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Null for a blank cursor (first page); IllegalArgumentException when malformed or from another listing
+     */
+    static ListingCursor decode(String cursor, String expectedScope) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length == 3 && parts[0].equals(expectedScope)) {
+                return new ListingCursor(parts[0], Long.parseLong(parts[1]), parts[2]);
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the error below
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,478 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.restaurant.cache.EntityCacheEvictor;
+import com.fooddelivery.restaurant.dto.MenuImportResult;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk menu import and export that never holds a whole file in memory.
+ * Imports are read record by record, validated as they arrive and upserted in JDBC batches,
+ * each batch in its own transaction; a failing row or batch is reported without stopping the rest.
+ * Exports stream rows straight from a MySQL streaming result set to the response.
+ */
+@Service
+@Slf4j
+public class MenuImportExportService {
+
+    public static final int BATCH_SIZE = 500;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String[] COLUMNS = {
+        "id", "name", "description", "price", "imageUrl", "category", "isVegetarian", "isAvailable"
+    };
+
+    private static final String INSERT_SQL =
+            "INSERT INTO menu_items (restaurant_id, name, description, price, image_url, category, "
+            + "is_vegetarian, available, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, NOW(6), NOW(6))";
+    // Optional columns the input leaves out or empty (bound as NULL) keep their current values, and a sold-out
+    // item's availability is left to StockService
+    private static final String UPDATE_SQL =
+            "UPDATE menu_items SET name = ?, description = COALESCE(?, description), price = ?, "
+            + "image_url = COALESCE(?, image_url), category = ?, is_vegetarian = COALESCE(?, is_vegetarian), "
+            + "available = CASE WHEN sold_out THEN available ELSE COALESCE(?, available) END, updated_at = NOW(6) "
+            + "WHERE id = ? AND restaurant_id = ?";
+    private static final String EXPORT_SQL =
+            "SELECT id, name, description, price, image_url, category, is_vegetarian, available "
+            + "FROM menu_items WHERE restaurant_id = ? ORDER BY id";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromContentType(String contentType) {
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.contains("ndjson") || type.contains("jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported content type for menu import: " + contentType
+                    + " (use text/csv or application/x-ndjson)");
+        }
+
+        public static Format fromName(String name) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + name + " (use csv or ndjson)");
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final RestaurantRepository restaurantRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MenuImportExportService(
+            DataSource dataSource,
+            RestaurantRepository restaurantRepository,
+            EntityCacheEvictor entityCacheEvictor,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the whole result
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.restaurantRepository = restaurantRepository;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public MenuImportResult importMenu(Long restaurantId, Format format, Reader input) throws IOException {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found with id: " + restaurantId);
+        }
+
+        ImportRun run = new ImportRun(restaurantId);
+        if (format == Format.CSV) {
+            readCsv(input, run);
+        } else {
+            readNdjson(input, run);
+        }
+        run.flush();
+
+        if (run.inserted + run.updated > 0) {
+            // Rows were written through JDBC, so Hibernate has not evicted the cached copies of updated items
+            entityCacheEvictor.evictMenuItems(restaurantId, run.existingNamesById.keySet());
+            transactionTemplate.executeWithoutResult(status -> {
+                restaurantRepository.incrementMenuVersion(restaurantId);
+                eventPublisher.publishEvent(CatalogChangedEvent.menuChanged(restaurantId, null));
+            });
+        }
+        log.info("Menu import for restaurant {}: {} rows, {} inserted, {} updated, {} failed",
+                restaurantId, run.total, run.inserted, run.updated, run.failed);
+
+        return new MenuImportResult(restaurantId, run.total, run.inserted, run.updated, run.failed,
+                run.failed > run.errors.size(), run.errors);
+    }
+
+    public void exportMenu(Long restaurantId, Format format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+        try {
+            streamingJdbcTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    Object[] values = {
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        rs.getDouble("price"),
+                        rs.getString("image_url"),
+                        rs.getString("category"),
+                        rs.getBoolean("is_vegetarian"),
+                        rs.getBoolean("available")
+                    };
+                    writer.write(format == Format.CSV ? toCsvLine(values) : toJsonLine(values));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, restaurantId);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void readCsv(Reader input, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(input);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "price", "category")) {
+            if (!positions.containsKey(required.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("CSV header is missing required column: " + required);
+            }
+        }
+
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (String column : COLUMNS) {
+                Integer position = positions.get(column.toLowerCase(Locale.ROOT));
+                if (position != null && position < record.size()) {
+                    values.put(column, record.get(position));
+                }
+            }
+            run.accept(csv.getRecordLine(), values);
+        }
+    }
+
+    private void readNdjson(Reader input, ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(input);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.isObject()) {
+                    run.reject(lineNumber, "Expected a JSON object");
+                    continue;
+                }
+                for (String column : COLUMNS) {
+                    JsonNode value = node.get(column);
+                    if (value != null && !value.isNull()) {
+                        values.put(column, value.asText());
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                run.reject(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            run.accept(lineNumber, values);
+        }
+    }
+
+    private String toCsvLine(Object[] values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(CsvReader.escape(values[i] == null ? null : String.valueOf(values[i])));
+        }
+        return line.toString();
+    }
+
+    private String toJsonLine(Object[] values) throws JsonProcessingException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            row.put(COLUMNS[i], values[i]);
+        }
+        return objectMapper.writeValueAsString(row);
+    }
+
+    // Optional values are null when the input does not give them
+    private record ImportRow(int line, Long id, String name, String description, double price, String imageUrl,
+                             String category, Boolean vegetarian, Boolean available) {
+    }
+
+    /**
+     * State of one import: existing items to upsert against, the pending batch and the counters
+     */
+    private final class ImportRun {
+        private final Long restaurantId;
+        private final Map<Long, String> existingNamesById = new HashMap<>();
+        private final Map<String, Long> existingIdsByName = new HashMap<>();
+        private final Set<String> seenNames = new HashSet<>();
+        private final Set<Long> seenIds = new HashSet<>();
+        private final List<ImportRow> inserts = new ArrayList<>();
+        private final List<ImportRow> updates = new ArrayList<>();
+        private final List<MenuImportResult.RowError> errors = new ArrayList<>();
+        private int total;
+        private int inserted;
+        private int updated;
+        private int failed;
+
+        private ImportRun(Long restaurantId) {
+            this.restaurantId = restaurantId;
+            // Only id and name per item, so this stays small even for large menus
+            jdbcTemplate.query("SELECT id, name FROM menu_items WHERE restaurant_id = ?", rs -> {
+                long id = rs.getLong("id");
+                String name = rs.getString("name");
+                existingNamesById.put(id, name);
+                existingIdsByName.putIfAbsent(normalize(name), id);
+            }, restaurantId);
+        }
+
+        private void accept(int line, Map<String, String> values) {
+            ImportRow row;
+            try {
+                row = toRow(line, values);
+            } catch (IllegalArgumentException e) {
+                reject(line, e.getMessage());
+                return;
+            }
+            total++;
+
+            String key = normalize(row.name());
+            if (!seenNames.add(key)) {
+                recordError(line, "Duplicate item name in this import: " + row.name());
+                return;
+            }
+            Long targetId = row.id() != null ? row.id() : existingIdsByName.get(key);
+            if (targetId == null) {
+                inserts.add(row);
+            } else if (!seenIds.add(targetId)) {
+                recordError(line, "Menu item " + targetId + " appears more than once in this import");
+                return;
+            } else {
+                updates.add(new ImportRow(line, targetId, row.name(), row.description(), row.price(),
+                        row.imageUrl(), row.category(), row.vegetarian(), row.available()));
+            }
+
+            if (inserts.size() + updates.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void reject(int line, String message) {
+            total++;
+            recordError(line, message);
+        }
+
+        private void recordError(int line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new MenuImportResult.RowError(line, message));
+            }
+        }
+
+        private ImportRow toRow(int line, Map<String, String> values) {
+            String name = trimToNull(values.get("name"));
+            String category = trimToNull(values.get("category"));
+            if (name == null) {
+                throw new IllegalArgumentException("Name is required");
+            }
+            if (name.length() > 255) {
+                throw new IllegalArgumentException("Name is longer than 255 characters");
+            }
+            if (category == null) {
+                throw new IllegalArgumentException("Category is required");
+            }
+
+            String priceValue = trimToNull(values.get("price"));
+            if (priceValue == null) {
+                throw new IllegalArgumentException("Price is required");
+            }
+            double price;
+            try {
+                price = Double.parseDouble(priceValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Price must be a number");
+            }
+            if (price <= 0) {
+                throw new IllegalArgumentException("Price must be greater than zero");
+            }
+
+            Long id = null;
+            String idValue = trimToNull(values.get("id"));
+            if (idValue != null) {
+                try {
+                    id = Long.parseLong(idValue);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Id must be a number");
+                }
+                if (!existingNamesById.containsKey(id)) {
+                    throw new IllegalArgumentException("Menu item " + id + " does not belong to restaurant " + restaurantId);
+                }
+            }
+
+            return new ImportRow(line, id, name, trimToNull(values.get("description")), price,
+                    trimToNull(values.get("imageUrl")), category,
+                    parseBoolean(values.get("isVegetarian")),
+                    parseBoolean(values.get("isAvailable")));
+        }
+
+        private void flush() {
+            if (inserts.isEmpty() && updates.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts, BATCH_SIZE, (ps, row) -> {
+                        ps.setLong(1, restaurantId);
+                        ps.setString(2, row.name());
+                        setNullableString(ps, 3, row.description());
+                        ps.setDouble(4, row.price());
+                        setNullableString(ps, 5, row.imageUrl());
+                        ps.setString(6, row.category());
+                        ps.setBoolean(7, row.vegetarian() != null && row.vegetarian());
+                        ps.setBoolean(8, row.available() == null || row.available());
+                    });
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, updates, BATCH_SIZE, (ps, row) -> {
+                        ps.setString(1, row.name());
+                        setNullableString(ps, 2, row.description());
+                        ps.setDouble(3, row.price());
+                        setNullableString(ps, 4, row.imageUrl());
+                        ps.setString(5, row.category());
+                        setNullableBoolean(ps, 6, row.vegetarian());
+                        setNullableBoolean(ps, 7, row.available());
+                        ps.setLong(8, row.id());
+                        ps.setLong(9, restaurantId);
+                    });
+                });
+                inserted += inserts.size();
+                updated += updates.size();
+            } catch (DataAccessException e) {
+                log.warn("Menu import batch failed for restaurant {}: {}", restaurantId, e.getMostSpecificCause().getMessage());
+                String message = "Batch rejected by the database: " + e.getMostSpecificCause().getMessage();
+                inserts.forEach(row -> recordError(row.line(), message));
+                updates.forEach(row -> recordError(row.line(), message));
+            } finally {
+                inserts.clear();
+                updates.clear();
+            }
+        }
+    }
+
+    private static void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+
+    private static void setNullableBoolean(PreparedStatement ps, int index, Boolean value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BOOLEAN);
+        } else {
+            ps.setBoolean(index, value);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        String trimmed = trimToNull(value);
+        if (trimmed == null) {
+            return null;
+        }
+        return trimmed.equalsIgnoreCase("true") || trimmed.equals("1") || trimmed.equalsIgnoreCase("yes");
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
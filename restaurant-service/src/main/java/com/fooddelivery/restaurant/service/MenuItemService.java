@@ -1,32 +1,118 @@
 package com.fooddelivery.restaurant.service;
 
+import com.fooddelivery.restaurant.cache.CatalogCache;
+import com.fooddelivery.restaurant.cache.MenuSnapshot;
+import com.fooddelivery.restaurant.cache.ResponseSerializer;
+import com.fooddelivery.restaurant.dto.MenuItemBatchResult;
 import com.fooddelivery.restaurant.dto.MenuItemDTO;
+import com.fooddelivery.restaurant.dto.MenuItemSummaryDTO;
 import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.MenuItemStock;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.event.MenuItemChangeEvent;
 import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.MenuItemStockRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class MenuItemService {
     
+    public static final int MAX_BATCH_SIZE = 500;
+    
     private final MenuItemRepository menuItemRepository;
+    private final MenuItemStockRepository stockRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final CatalogCache catalogCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ResponseSerializer responseSerializer;
+    private final StockService stockService;
+    private final CatalogSnapshotService catalogSnapshotService;
     
     public List<MenuItemDTO> getMenuItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId)
-                .stream()
-                .map(this::convertToDTO)
+        return getMenuSnapshot(restaurantId).items();
+    }
+    
+    /**
+     * Current version of the menu with its response body already serialized.
+     * A cache hit touches neither the database nor Jackson beyond the envelope timestamp.
+     * Items carry no stockRemaining: pools change on every order without a new menu version (see getStockRemaining).
+     */
+    public MenuSnapshot getMenuSnapshot(Long restaurantId) {
+        return catalogCache.getMenu(restaurantId, () -> loadSnapshot(restaurantId));
+    }
+    
+    /**
+     * Warm the menu cache from the catalog snapshot file, when startup found a current one
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadMenus() {
+        List<CatalogSnapshotService.SnapshotMenu> menus = catalogSnapshotService.startupMenus();
+        if (menus.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        for (CatalogSnapshotService.SnapshotMenu menu : menus) {
+            catalogCache.getMenu(menu.restaurantId(), () -> toSnapshot(menu.restaurantId(), menu.version(), menu.items()));
+        }
+        log.info("Preloaded {} menus from the catalog snapshot in {} ms", menus.size(), System.currentTimeMillis() - start);
+    }
+    
+    private MenuSnapshot loadSnapshot(Long restaurantId) {
+        // Version and items are read in one transaction so they always describe the same menu
+        return transactionTemplate.execute(status -> toSnapshot(restaurantId,
+                restaurantRepository.findMenuVersionById(restaurantId).orElse(0L),
+                menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId)));
+    }
+    
+    private MenuSnapshot toSnapshot(Long restaurantId, long version, List<MenuItem> menuItems) {
+        List<MenuItemDTO> items = menuItems.stream()
+                .map(menuItem -> convertToDTO(menuItem, null))
                 .collect(Collectors.toList());
+        return new MenuSnapshot(restaurantId, version, List.copyOf(items),
+                MenuSnapshot.etagFor(restaurantId, version),
+                responseSerializer.serialize(items, "Menu items retrieved successfully"));
+    }
+    
+    /**
+     * Units left in today's pools of the restaurant's available limited items, read live on every call.
+     * The limited items come from the cached menu, so only the pool rows are queried.
+     */
+    public Map<Long, Integer> getStockRemaining(Long restaurantId) {
+        return stockRemaining(getMenuSnapshot(restaurantId).items()
+                .stream()
+                .filter(item -> item.getDailyStock() != null)
+                .map(MenuItemDTO::getId)
+                .toList());
     }
     
+    /**
+     * Available items of one category, filtered from the cached menu snapshot (see FacetService for the categories)
+     */
     public List<MenuItemDTO> getMenuItemsByCategory(Long restaurantId, String category) {
-        return menuItemRepository.findByRestaurantIdAndCategory(restaurantId, category)
+        String wanted = category == null ? "" : category.trim();
+        return getMenuSnapshot(restaurantId).items()
                 .stream()
-                .map(this::convertToDTO)
+                .filter(item -> item.getCategory() != null && item.getCategory().trim().equalsIgnoreCase(wanted))
                 .collect(Collectors.toList());
     }
     
@@ -36,11 +122,53 @@ public class MenuItemService {
         return convertToDTO(menuItem);
     }
     
+    /**
+     * Summaries of many items with one IN query, in request order
+     */
+    public MenuItemBatchResult getMenuItemsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("ids must not contain null");
+            }
+            requested.add(id);
+        }
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids per request");
+        }
+        
+        Map<Long, MenuItem> found = menuItemRepository.findAllById(requested)
+                .stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        List<MenuItemSummaryDTO> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            MenuItem menuItem = found.get(id);
+            if (menuItem == null) {
+                missing.add(id);
+            } else {
+                items.add(new MenuItemSummaryDTO(menuItem.getId(), menuItem.getRestaurantId(),
+                        menuItem.getName(), menuItem.getPrice(), menuItem.getIsAvailable()));
+            }
+        }
+        return new MenuItemBatchResult(items, missing);
+    }
+    
     @Transactional
     public MenuItemDTO createMenuItem(MenuItemDTO menuItemDTO) {
+        validateDailyStock(menuItemDTO.getDailyStock());
         MenuItem menuItem = convertToEntity(menuItemDTO);
         menuItem.setIsAvailable(true);
         MenuItem saved = menuItemRepository.save(menuItem);
+        if (saved.getDailyStock() != null) {
+            stockService.restock(saved.getId(), saved.getDailyStock());
+        }
+        restaurantRepository.incrementMenuVersion(saved.getRestaurantId());
+        eventPublisher.publishEvent(CatalogChangedEvent.menuChanged(saved.getRestaurantId(), saved.getId()));
+        eventPublisher.publishEvent(MenuItemChangeEvent.of(saved, MenuItemChangeEvent.ChangeType.CREATED, null));
         return convertToDTO(saved);
     }
     
@@ -48,6 +176,10 @@ public class MenuItemService {
     public MenuItemDTO updateMenuItem(Long id, MenuItemDTO menuItemDTO) {
         MenuItem existing = menuItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Menu item not found with id: " + id));
+        Double previousPrice = existing.getPrice();
+        Boolean wasAvailable = existing.getIsAvailable();
+        Integer previousDailyStock = existing.getDailyStock();
+        validateDailyStock(menuItemDTO.getDailyStock());
         
         existing.setName(menuItemDTO.getName());
         existing.setDescription(menuItemDTO.getDescription());
@@ -56,8 +188,16 @@ public class MenuItemService {
         existing.setCategory(menuItemDTO.getCategory());
         existing.setIsVegetarian(menuItemDTO.getIsVegetarian());
         existing.setIsAvailable(menuItemDTO.getIsAvailable());
+        existing.setDailyStock(menuItemDTO.getDailyStock());
         
         MenuItem updated = menuItemRepository.save(existing);
+        if (!Objects.equals(previousDailyStock, updated.getDailyStock())) {
+            stockService.restock(updated.getId(), updated.getDailyStock());
+        }
+        restaurantRepository.incrementMenuVersion(updated.getRestaurantId());
+        eventPublisher.publishEvent(CatalogChangedEvent.menuChanged(updated.getRestaurantId(), updated.getId()));
+        eventPublisher.publishEvent(MenuItemChangeEvent.of(updated,
+                MenuItemChangeEvent.classifyUpdate(wasAvailable, previousPrice, updated), previousPrice));
         return convertToDTO(updated);
     }
     
@@ -67,9 +207,31 @@ public class MenuItemService {
                 .orElseThrow(() -> new RuntimeException("Menu item not found with id: " + id));
         menuItem.setIsAvailable(false);
         menuItemRepository.save(menuItem);
+        restaurantRepository.incrementMenuVersion(menuItem.getRestaurantId());
+        eventPublisher.publishEvent(CatalogChangedEvent.menuChanged(menuItem.getRestaurantId(), id));
+        eventPublisher.publishEvent(MenuItemChangeEvent.of(menuItem, MenuItemChangeEvent.ChangeType.UNAVAILABLE, null));
+    }
+    
+    /**
+     * Units left in today's pools of these limited items
+     */
+    private Map<Long, Integer> stockRemaining(List<Long> limitedItemIds) {
+        if (limitedItemIds.isEmpty()) {
+            return Map.of();
+        }
+        return stockRepository.findAllById(limitedItemIds)
+                .stream()
+                .filter(pool -> pool.getStockRemaining() != null)
+                .collect(Collectors.toMap(MenuItemStock::getMenuItemId, MenuItemStock::getStockRemaining));
     }
     
     private MenuItemDTO convertToDTO(MenuItem menuItem) {
+        Integer stockRemaining = menuItem.getDailyStock() == null
+                ? null : stockRemaining(List.of(menuItem.getId())).get(menuItem.getId());
+        return convertToDTO(menuItem, stockRemaining);
+    }
+    
+    private MenuItemDTO convertToDTO(MenuItem menuItem, Integer stockRemaining) {
         MenuItemDTO dto = new MenuItemDTO();
         dto.setId(menuItem.getId());
         dto.setRestaurantId(menuItem.getRestaurantId());
@@ -80,6 +242,9 @@ public class MenuItemService {
         dto.setCategory(menuItem.getCategory());
         dto.setIsVegetarian(menuItem.getIsVegetarian());
         dto.setIsAvailable(menuItem.getIsAvailable());
+        dto.setDailyStock(menuItem.getDailyStock());
+        dto.setStockRemaining(stockRemaining);
+        dto.setSoldOut(menuItem.getSoldOut());
         dto.setCreatedAt(menuItem.getCreatedAt());
         dto.setUpdatedAt(menuItem.getUpdatedAt());
         return dto;
@@ -94,6 +259,13 @@ public class MenuItemService {
         menuItem.setImageUrl(dto.getImageUrl());
         menuItem.setCategory(dto.getCategory());
         menuItem.setIsVegetarian(dto.getIsVegetarian());
+        menuItem.setDailyStock(dto.getDailyStock());
         return menuItem;
     }
+    
+    private static void validateDailyStock(Integer dailyStock) {
+        if (dailyStock != null && dailyStock < 0) {
+            throw new IllegalArgumentException("Daily stock must not be negative");
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.search.WeeklySchedule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory weekly opening-hours bitmaps for active restaurants, so "open now" and "open at T"
+ * are bit tests instead of string parsing per request. Restaurants whose stored hours cannot be
+ * parsed are treated as open rather than silently hidden.
+ */
+@Service
+@Slf4j
+public class OpeningHoursService {
+    
+    private final RestaurantRepository restaurantRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ZoneId zone;
+    
+    private final ConcurrentMap<Long, WeeklySchedule> schedules = new ConcurrentHashMap<>();
+    private final Set<Long> unparseable = ConcurrentHashMap.newKeySet();
+    
+    public OpeningHoursService(
+            RestaurantRepository restaurantRepository,
+            CatalogSnapshotService catalogSnapshotService,
+            @Value("${restaurant.hours.zone:}") String zone) {
+        this.restaurantRepository = restaurantRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.zone = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        schedules.clear();
+        unparseable.clear();
+        catalogSnapshotService.activeRestaurants().forEach(this::index);
+        log.info("Opening hours index built: {} schedules, {} unparseable (zone {})",
+                schedules.size(), unparseable.size(), zone);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.isRestaurantChange()) {
+            return;
+        }
+        try {
+            Restaurant restaurant = restaurantRepository.findById(event.getRestaurantId()).orElse(null);
+            if (restaurant != null && Boolean.TRUE.equals(restaurant.getIsActive())) {
+                index(restaurant);
+            } else {
+                schedules.remove(event.getRestaurantId());
+                unparseable.remove(event.getRestaurantId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to update opening hours for restaurant {}", event.getRestaurantId(), e);
+        }
+    }
+    
+    /**
+     * Reject hours that would not parse, before they are saved
+     */
+    public static void validate(String openingHours, String openingTime, String closingTime) {
+        WeeklySchedule.parse(openingHours, openingTime, closingTime);
+    }
+    
+    public LocalDateTime now() {
+        return LocalDateTime.now(zone);
+    }
+    
+    public boolean isOpen(Long restaurantId, int minuteOfWeek) {
+        if (unparseable.contains(restaurantId)) {
+            return true;
+        }
+        WeeklySchedule schedule = schedules.get(restaurantId);
+        return schedule != null && schedule.isOpenAt(minuteOfWeek);
+    }
+    
+    /**
+     * Which active restaurants are open at a minute of the week, as ids to include or ids to exclude
+     * (when closed is true), whichever list is shorter: at meal times almost everything is open
+     */
+    public record OpenRestaurants(Set<Long> ids, boolean closed) {
+    }
+    
+    public OpenRestaurants openRestaurants(int minuteOfWeek) {
+        Set<Long> open = new HashSet<>(unparseable);
+        Set<Long> closed = new HashSet<>();
+        schedules.forEach((id, schedule) -> (schedule.isOpenAt(minuteOfWeek) ? open : closed).add(id));
+        return closed.size() < open.size()
+                ? new OpenRestaurants(closed, true)
+                : new OpenRestaurants(open, false);
+    }
+    
+    private void index(Restaurant restaurant) {
+        try {
+            schedules.put(restaurant.getId(), WeeklySchedule.parse(
+                    restaurant.getOpeningHours(), restaurant.getOpeningTime(), restaurant.getClosingTime()));
+            unparseable.remove(restaurant.getId());
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot parse opening hours of restaurant {}: {}", restaurant.getId(), e.getMessage());
+            schedules.remove(restaurant.getId());
+            unparseable.add(restaurant.getId());
+        }
+    }
+}
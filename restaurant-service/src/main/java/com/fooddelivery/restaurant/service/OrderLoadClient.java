@@ -0,0 +1,65 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.util.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads active order counts from order-service, which counts them in its database.
+ */
+@Service
+@Slf4j
+public class OrderLoadClient {
+
+    private static final ParameterizedTypeReference<ApiResponse<Map<Long, Long>>> COUNTS_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RestTemplate restTemplate;
+    private final String orderServiceUrl;
+
+    public OrderLoadClient(RestTemplate restTemplate,
+                           @Value("${restaurant.orders.order-service-url:http://order-service}") String orderServiceUrl) {
+        this.restTemplate = restTemplate;
+        this.orderServiceUrl = orderServiceUrl;
+    }
+
+    /**
+     * Orders placed and not yet ready per restaurant, with one request; null when order-service could not be asked
+     */
+    public Map<Long, Integer> activeOrders(Collection<Long> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return Map.of();
+        }
+        String url = UriComponentsBuilder.fromHttpUrl(orderServiceUrl + "/api/orders/active-counts")
+                .queryParam("restaurantIds", restaurantIds.toArray())
+                .toUriString();
+        try {
+            ApiResponse<Map<Long, Long>> response =
+                    restTemplate.exchange(url, HttpMethod.GET, null, COUNTS_TYPE).getBody();
+            if (response == null || response.getData() == null) {
+                return null;
+            }
+            Map<Long, Integer> counts = new HashMap<>();
+            response.getData().forEach((restaurantId, count) -> {
+                if (restaurantId != null && count != null) {
+                    counts.put(restaurantId, count.intValue());
+                }
+            });
+            return counts;
+        } catch (RestClientException e) {
+            log.warn("Could not read active orders for restaurants {}: {}", restaurantIds, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.OwnerDashboardDTO;
+import com.fooddelivery.restaurant.dto.OwnerRestaurantSummaryDTO;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Everything the owner UI shows about an owner's restaurants, in one response.
+ *
+ * Restaurants and their menu counts come from two set-based queries whatever the number of restaurants,
+ * and are cached per owner until a write touches one of the owner's restaurants or menus (locally or
+ * on another instance). Active orders (placed and not yet ready) are counted by order-service in its database on
+ * every read, so every instance reports the same number; they are left empty when order-service is unreachable.
+ */
+@Service
+@Slf4j
+public class OwnerDashboardService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantService restaurantService;
+    private final OrderLoadClient orderLoadClient;
+    private final Cache<Long, Snapshot> dashboards;
+
+    public OwnerDashboardService(RestaurantRepository restaurantRepository,
+                                 MenuItemRepository menuItemRepository,
+                                 RestaurantService restaurantService,
+                                 OrderLoadClient orderLoadClient,
+                                 @Value("${restaurant.cache.owners.max-size:1000}") long maxSize,
+                                 @Value("${restaurant.cache.owners.ttl-seconds:600}") long ttlSeconds) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.restaurantService = restaurantService;
+        this.orderLoadClient = orderLoadClient;
+        // As in CatalogCache, the TTL only covers a lost invalidation
+        this.dashboards = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    private record Entry(Restaurant restaurant, int itemCount, int unavailableCount, int soldOutCount) {
+    }
+
+    private record Snapshot(List<Entry> entries, Set<Long> restaurantIds, LocalDateTime generatedAt) {
+    }
+
+    public OwnerDashboardDTO getDashboard(Long ownerId) {
+        Snapshot snapshot = dashboards.get(ownerId, this::load);
+        Map<Long, Integer> orderCounts = orderLoadClient.activeOrders(snapshot.restaurantIds());
+
+        List<OwnerRestaurantSummaryDTO> restaurants = new ArrayList<>(snapshot.entries().size());
+        int active = 0;
+        int items = 0;
+        int unavailable = 0;
+        Integer orders = orderCounts == null ? null : 0;
+        int reviews = 0;
+        double ratingSum = 0;
+        for (Entry entry : snapshot.entries()) {
+            Restaurant restaurant = entry.restaurant();
+            Integer activeOrders = orderCounts == null ? null : orderCounts.getOrDefault(restaurant.getId(), 0);
+            int reviewCount = restaurant.getTotalReviews() == null ? 0 : restaurant.getTotalReviews();
+            if (Boolean.TRUE.equals(restaurant.getIsActive())) {
+                active++;
+            }
+            items += entry.itemCount();
+            unavailable += entry.unavailableCount();
+            if (activeOrders != null) {
+                orders += activeOrders;
+            }
+            if (reviewCount > 0 && restaurant.getRating() != null) {
+                reviews += reviewCount;
+                ratingSum += restaurant.getRating() * reviewCount;
+            }
+            restaurants.add(new OwnerRestaurantSummaryDTO(restaurantService.convertToDTO(restaurant),
+                    entry.itemCount(), entry.unavailableCount(), entry.soldOutCount(), activeOrders));
+        }
+        double averageRating = reviews == 0 ? 0.0 : Math.round(ratingSum / reviews * 100.0) / 100.0;
+        return new OwnerDashboardDTO(ownerId, restaurants.size(), active, items, unavailable, orders,
+                reviews, averageRating, restaurants, snapshot.generatedAt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        Long restaurantId = event.getRestaurantId();
+        boolean cached = false;
+        for (Map.Entry<Long, Snapshot> dashboard : dashboards.asMap().entrySet()) {
+            if (dashboard.getValue().restaurantIds().contains(restaurantId)) {
+                dashboards.invalidate(dashboard.getKey());
+                cached = true;
+            }
+        }
+        if (!cached && event.isRestaurantChange()) {
+            // A restaurant no cached dashboard lists yet, e.g. just created: find whose it is
+            try {
+                restaurantRepository.findById(restaurantId)
+                        .ifPresent(restaurant -> dashboards.invalidate(restaurant.getOwnerId()));
+            } catch (Exception e) {
+                log.error("Failed to invalidate owner dashboard for restaurant {}", restaurantId, e);
+                dashboards.invalidateAll();
+            }
+        }
+    }
+
+    private Snapshot load(Long ownerId) {
+        List<Restaurant> restaurants = restaurantRepository.findByOwnerId(ownerId)
+                .stream()
+                .sorted(Comparator.comparing(Restaurant::getId))
+                .collect(Collectors.toList());
+        Set<Long> ids = restaurants.stream().map(Restaurant::getId).collect(Collectors.toUnmodifiableSet());
+        Map<Long, MenuItemRepository.MenuCounts> counts = ids.isEmpty()
+                ? Map.of()
+                : menuItemRepository.countByRestaurantIds(ids)
+                        .stream()
+                        .collect(Collectors.toMap(MenuItemRepository.MenuCounts::getRestaurantId, Function.identity()));
+
+        List<Entry> entries = restaurants.stream()
+                .map(restaurant -> {
+                    MenuItemRepository.MenuCounts count = counts.get(restaurant.getId());
+                    return count == null
+                            ? new Entry(restaurant, 0, 0, 0)
+                            : new Entry(restaurant, toInt(count.getItemCount()),
+                                    toInt(count.getUnavailableCount()), toInt(count.getSoldOutCount()));
+                })
+                .toList();
+        return new Snapshot(entries, ids, LocalDateTime.now());
+    }
+
+    private static int toInt(Long value) {
+        return value == null ? 0 : value.intValue();
+    }
+}
@@ -0,0 +1,195 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.entity.Review;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.event.RestaurantChangeEvent;
+import com.fooddelivery.restaurant.event.ReviewSubmittedEvent;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.repository.ReviewRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds new review ratings into Restaurant.rating/totalReviews in batches.
+ *
+ * Submitted ratings land in striped in-memory accumulators (a restaurant always maps to the same
+ * stripe, so concurrent reviews of different restaurants rarely share a lock). Every flush drains the
+ * stripes and applies one atomic delta per restaurant, so a burst of reviews costs one short row lock
+ * per restaurant per interval instead of one per review.
+ *
+ * Each flush claims its reviews (aggregated = false -> true) in the same transaction as the delta,
+ * which keeps it exactly-once: reviews whose delta was lost with a crashed instance stay unclaimed and
+ * are picked up by the recovery sweep once they are older than the grace period.
+ */
+@Service
+@Slf4j
+public class RatingAggregator {
+    
+    private static final int RECOVERY_BATCH_SIZE = 1000;
+    
+    private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long recoveryGraceMinutes;
+    private final Stripe[] stripes;
+    
+    public RatingAggregator(RestaurantRepository restaurantRepository,
+                            ReviewRepository reviewRepository,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${restaurant.reviews.stripes:16}") int stripeCount,
+                            @Value("${restaurant.reviews.recovery-grace-minutes:10}") long recoveryGraceMinutes) {
+        this.restaurantRepository = restaurantRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.recoveryGraceMinutes = recoveryGraceMinutes;
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+    
+    /**
+     * Ratings not yet written to one restaurant
+     */
+    private static final class Pending {
+        long ratingSum;
+        final List<Long> reviewIds = new ArrayList<>();
+        
+        void add(Long reviewId, long rating) {
+            ratingSum += rating;
+            reviewIds.add(reviewId);
+        }
+        
+        void addAll(Pending other) {
+            ratingSum += other.ratingSum;
+            reviewIds.addAll(other.reviewIds);
+        }
+    }
+    
+    private static final class Stripe {
+        final Map<Long, Pending> pending = new HashMap<>();
+    }
+    
+    @TransactionalEventListener
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        Stripe stripe = stripeFor(event.getRestaurantId());
+        synchronized (stripe) {
+            stripe.pending.computeIfAbsent(event.getRestaurantId(), id -> new Pending())
+                    .add(event.getReviewId(), event.getRating());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${restaurant.reviews.flush-interval-ms:5000}")
+    public void flush() {
+        Map<Long, Pending> drained = drain();
+        drained.forEach((restaurantId, pending) -> {
+            try {
+                apply(restaurantId, pending.reviewIds, pending.ratingSum);
+            } catch (RuntimeException e) {
+                log.error("Failed to flush {} rating(s) for restaurant {}, will retry",
+                        pending.reviewIds.size(), restaurantId, e);
+                requeue(restaurantId, pending);
+            }
+        });
+        if (!drained.isEmpty()) {
+            log.debug("Flushed ratings for {} restaurant(s)", drained.size());
+        }
+    }
+    
+    /**
+     * Aggregate reviews that were stored but never flushed (e.g. the instance holding them died)
+     */
+    @Scheduled(initialDelayString = "${restaurant.reviews.recovery-interval-ms:300000}",
+               fixedDelayString = "${restaurant.reviews.recovery-interval-ms:300000}")
+    public void recoverUnaggregated() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(recoveryGraceMinutes);
+        List<Review> stale = reviewRepository.findUnaggregatedBefore(cutoff, PageRequest.of(0, RECOVERY_BATCH_SIZE));
+        if (stale.isEmpty()) {
+            return;
+        }
+        
+        Map<Long, Pending> byRestaurant = new LinkedHashMap<>();
+        for (Review review : stale) {
+            byRestaurant.computeIfAbsent(review.getRestaurantId(), id -> new Pending())
+                    .add(review.getId(), review.getRating());
+        }
+        byRestaurant.forEach((restaurantId, pending) -> {
+            try {
+                apply(restaurantId, pending.reviewIds, pending.ratingSum);
+            } catch (RuntimeException e) {
+                log.error("Failed to recover ratings for restaurant {}", restaurantId, e);
+            }
+        });
+        log.info("Recovered {} unaggregated review(s) for {} restaurant(s)", stale.size(), byRestaurant.size());
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    /**
+     * Claim the reviews and apply their delta in one transaction. If some were already claimed
+     * (by a recovery sweep racing this flush) nothing is applied: the unclaimed rest stays
+     * for the next sweep.
+     */
+    private void apply(Long restaurantId, List<Long> reviewIds, long ratingSum) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int claimed = reviewRepository.markAggregated(reviewIds);
+            if (claimed != reviewIds.size()) {
+                log.warn("Only {} of {} reviews for restaurant {} were unclaimed, leaving them to the recovery sweep",
+                        claimed, reviewIds.size(), restaurantId);
+                status.setRollbackOnly();
+                return;
+            }
+            restaurantRepository.applyRatingDelta(restaurantId, ratingSum, reviewIds.size());
+            restaurantRepository.findById(restaurantId).ifPresent(restaurant -> {
+                eventPublisher.publishEvent(
+                        CatalogChangedEvent.restaurantChanged(restaurantId, restaurant.getCuisine()));
+                eventPublisher.publishEvent(
+                        RestaurantChangeEvent.of(restaurant, RestaurantChangeEvent.ChangeType.UPDATED));
+            });
+        });
+    }
+    
+    private Map<Long, Pending> drain() {
+        Map<Long, Pending> drained = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (!stripe.pending.isEmpty()) {
+                    drained.putAll(stripe.pending);
+                    stripe.pending.clear();
+                }
+            }
+        }
+        return drained;
+    }
+    
+    private void requeue(Long restaurantId, Pending pending) {
+        Stripe stripe = stripeFor(restaurantId);
+        synchronized (stripe) {
+            stripe.pending.computeIfAbsent(restaurantId, id -> new Pending()).addAll(pending);
+        }
+    }
+    
+    private Stripe stripeFor(Long restaurantId) {
+        return stripes[Math.floorMod(Long.hashCode(restaurantId), stripes.length)];
+    }
+}
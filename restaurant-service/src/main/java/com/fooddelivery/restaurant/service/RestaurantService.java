@@ -1,20 +1,74 @@
 package com.fooddelivery.restaurant.service;
 
+import com.fooddelivery.restaurant.cache.CatalogCache;
+import com.fooddelivery.restaurant.cache.ResponseSerializer;
+import com.fooddelivery.restaurant.cache.SerializedResponse;
+import com.fooddelivery.restaurant.dto.CursorPageDTO;
+import com.fooddelivery.restaurant.dto.RestaurantCardDTO;
 import com.fooddelivery.restaurant.dto.RestaurantDTO;
 import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.event.RestaurantChangeEvent;
+import com.fooddelivery.restaurant.repository.RestaurantCard;
 import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.repository.RestaurantSort;
+import com.fooddelivery.restaurant.repository.RestaurantSpecifications;
+import com.fooddelivery.restaurant.search.GeoIndex;
+import com.fooddelivery.restaurant.search.WeeklySchedule;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RestaurantService {
     
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    private static final String SEARCH_SCOPE = "search";
+    private static final String OWNER_SCOPE = "owner";
+    
+    /**
+     * Shape of the items of the restaurant list endpoints
+     */
+    public enum View {
+        FULL,
+        CARD;
+        
+        public static View from(String view) {
+            if (view == null || view.isBlank() || view.equalsIgnoreCase("full")) {
+                return FULL;
+            }
+            if (view.equalsIgnoreCase("card")) {
+                return CARD;
+            }
+            throw new IllegalArgumentException("Unknown view: " + view + " (expected full or card)");
+        }
+    }
+    
     private final RestaurantRepository restaurantRepository;
+    private final CatalogCache catalogCache;
+    private final SearchService searchService;
+    private final GeoService geoService;
+    private final OpeningHoursService openingHoursService;
+    private final KitchenLoadService kitchenLoadService;
+    private final ResponseSerializer responseSerializer;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<RestaurantDTO> getAllActiveRestaurants() {
         return restaurantRepository.findByIsActiveTrue()
@@ -23,37 +77,156 @@ public class RestaurantService {
                 .collect(Collectors.toList());
     }
     
-    public List<RestaurantDTO> getFilteredRestaurants(String cuisineType, Double minRating, 
-                                                       Integer maxDeliveryTime, Boolean onlyOpen, String sortBy) {
-        List<Restaurant> restaurants = restaurantRepository.findByIsActiveTrue();
+    /**
+     * Filter, sort and page active restaurants in the database rather than in the JVM.
+     * The open filter is resolved from the in-memory opening hours index (now, or at openAt when given).
+     * maxDeliveryTime applies to the live delivery time: restaurants whose kitchen load pushes them over
+     * it are excluded by id. sortBy=deliveryTime orders by the stored (base) estimate, so pages and cursors stay
+     * stable while load moves; the live time is what each row shows.
+     * Without a cursor, pages are numbered and the data is a plain list. With one (blank for the first page)
+     * the data is a CursorPageDTO that resumes after the previous page's last row instead of counting an offset.
+     * Pages are cached as serialized response bodies, so a hit skips mapping and serialization. A cached page
+     * is rebuilt only when the live delivery time of a restaurant on it has moved since.
+     */
+    public SerializedResponse getFilteredRestaurants(String cuisineType, Double minRating, Integer maxDeliveryTime,
+                                                     Boolean onlyOpen, LocalDateTime openAt, String sortBy,
+                                                     int page, int size, View view, String cursor) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int pageNumber = cursor == null ? Math.max(page, 0) : 0;
+        RestaurantSort sort = RestaurantSort.from(sortBy);
+        ListingCursor after = ListingCursor.decode(cursor, sort.getKey());
+        Comparable<?> afterValue = after == null ? null : sort.parseValue(after.value());
+        Integer openMinute = openMinuteFor(onlyOpen, openAt);
+        Set<Long> slowerIds = maxDeliveryTime == null ? Set.of()
+                : kitchenLoadService.restaurantsSlowerThan(maxDeliveryTime);
+        CatalogCache.ListingKey key = CatalogCache.ListingKey.of(
+                cuisineType, minRating, maxDeliveryTime, openMinute, sort.getKey(), pageNumber, pageSize,
+                slowerIds, view.name(), cursor == null ? null : cursor.trim());
+        
+        return catalogCache.getListing(key, this::showsLiveDeliveryTimes, () -> {
+            Specification<Restaurant> spec = listingSpec(cuisineType, minRating, maxDeliveryTime, openMinute, slowerIds);
+            List<?> items;
+            Object data;
+            if (cursor != null) {
+                List<RestaurantCard> cards = restaurantRepository.findCards(spec, sort, afterValue,
+                        after == null ? null : after.position(), 0, pageSize + 1);
+                String nextCursor = null;
+                if (cards.size() > pageSize) {
+                    cards = cards.subList(0, pageSize);
+                    RestaurantCard last = cards.get(pageSize - 1);
+                    nextCursor = new ListingCursor(sort.getKey(), last.getId(), sort.valueOf(last)).encode();
+                }
+                items = view == View.CARD
+                        ? toCards(cards)
+                        : loadInOrder(cards.stream().map(RestaurantCard::getId).collect(Collectors.toList()));
+                data = new CursorPageDTO<>(items, nextCursor);
+            } else if (view == View.CARD) {
+                items = toCards(restaurantRepository.findCards(spec, sort, null, null, pageNumber * pageSize, pageSize));
+                data = items;
+            } else {
+                Pageable pageable = PageRequest.of(pageNumber, pageSize, sort.toSort());
+                items = restaurantRepository.findAll(spec, pageable)
+                        .stream()
+                        .map(this::convertToDTO)
+                        .collect(Collectors.toList());
+                data = items;
+            }
+            return new CatalogCache.ListingPage(
+                    responseSerializer.serialize(data, "Restaurants retrieved successfully"), shownExtraMinutes(items));
+        });
+    }
+    
+    /**
+     * Extra kitchen-load minutes in the live delivery times a page shows, per restaurant
+     */
+    private static Map<Long, Integer> shownExtraMinutes(List<?> items) {
+        Map<Long, Integer> extras = new HashMap<>();
+        for (Object item : items) {
+            if (item instanceof RestaurantCardDTO card) {
+                extras.put(card.getId(), extraMinutes(card.getEstimatedDeliveryTime(), card.getLiveDeliveryTime()));
+            } else if (item instanceof RestaurantDTO restaurant) {
+                extras.put(restaurant.getId(),
+                        extraMinutes(restaurant.getEstimatedDeliveryTime(), restaurant.getLiveDeliveryTime()));
+            }
+        }
+        return extras;
+    }
+    
+    private static int extraMinutes(Integer base, Integer live) {
+        return (live == null ? 0 : live) - (base == null ? 0 : base);
+    }
+    
+    private boolean showsLiveDeliveryTimes(CatalogCache.ListingPage page) {
+        for (Map.Entry<Long, Integer> shown : page.extraMinutes().entrySet()) {
+            if (kitchenLoadService.extraMinutes(shown.getKey()) != shown.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private Specification<Restaurant> listingSpec(String cuisineType, Double minRating, Integer maxDeliveryTime,
+                                                  Integer openMinute, Set<Long> slowerIds) {
+        OpeningHoursService.OpenRestaurants open = openMinute == null ? null
+                : openingHoursService.openRestaurants(openMinute);
+        if (open != null && !open.closed() && open.ids().isEmpty()) {
+            return RestaurantSpecifications.none();
+        }
+        Specification<Restaurant> openSpec = open == null ? null
+                : open.closed() ? RestaurantSpecifications.idNotIn(open.ids()) : RestaurantSpecifications.idIn(open.ids());
+        return Specification.where(RestaurantSpecifications.isActive())
+                .and(RestaurantSpecifications.hasCuisine(cuisineType))
+                .and(RestaurantSpecifications.minRating(minRating))
+                .and(RestaurantSpecifications.maxDeliveryTime(maxDeliveryTime))
+                .and(openSpec)
+                .and(RestaurantSpecifications.idNotIn(slowerIds));
+    }
+    
+    /**
+     * Active restaurants around a point, closest first, answered from the geo index.
+     * Only the restaurants that made the cut are loaded from the database.
+     */
+    public List<RestaurantDTO> getNearbyRestaurants(double latitude, double longitude, Double radiusKm,
+                                                    String cuisineType, Double minRating, Integer maxDeliveryTime,
+                                                    Boolean onlyOpen, int limit) {
+        String cuisine = cuisineType == null || cuisineType.isEmpty() ? null : cuisineType.toLowerCase();
+        Integer openMinute = openMinuteFor(onlyOpen, null);
+        Predicate<GeoIndex.Place> filter = place -> (cuisine == null || cuisine.equals(place.cuisine()))
+                && (minRating == null || place.rating() >= minRating)
+                && (maxDeliveryTime == null || kitchenLoadService.liveDeliveryTime(
+                        place.restaurantId(), place.estimatedDeliveryTime()) <= maxDeliveryTime)
+                && (openMinute == null || openingHoursService.isOpen(place.restaurantId(), openMinute));
         
-        // Apply filters
-        return restaurants.stream()
-                .filter(r -> cuisineType == null || cuisineType.isEmpty() || r.getCuisine().equalsIgnoreCase(cuisineType))
-                .filter(r -> r.getRating() != null && r.getRating() >= minRating)
-                .filter(r -> r.getEstimatedDeliveryTime() != null && r.getEstimatedDeliveryTime() <= maxDeliveryTime)
-                .sorted((r1, r2) -> {
-                    switch (sortBy.toLowerCase()) {
-                        case "rating":
-                            Double rating1 = r1.getRating() != null ? r1.getRating() : 0.0;
-                            Double rating2 = r2.getRating() != null ? r2.getRating() : 0.0;
-                            return Double.compare(rating2, rating1); // Descending
-                        case "deliverytime":
-                            Integer time1 = r1.getEstimatedDeliveryTime() != null ? r1.getEstimatedDeliveryTime() : 999;
-                            Integer time2 = r2.getEstimatedDeliveryTime() != null ? r2.getEstimatedDeliveryTime() : 999;
-                            return Integer.compare(time1, time2); // Ascending
-                        case "name":
-                            return r1.getName().compareToIgnoreCase(r2.getName());
-                        default:
-                            Double defRating1 = r1.getRating() != null ? r1.getRating() : 0.0;
-                            Double defRating2 = r2.getRating() != null ? r2.getRating() : 0.0;
-                            return Double.compare(defRating2, defRating1);
-                    }
+        List<GeoIndex.Nearby> nearby = geoService.findNearby(
+                latitude, longitude, radiusKm, filter, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        if (nearby.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, Restaurant> byId = restaurantRepository.findAllById(
+                        nearby.stream().map(n -> n.place().restaurantId()).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        return nearby.stream()
+                .filter(n -> byId.containsKey(n.place().restaurantId()))
+                .map(n -> {
+                    RestaurantDTO dto = convertToDTO(byId.get(n.place().restaurantId()));
+                    dto.setDistanceKm(Math.round(n.distanceKm() * 100.0) / 100.0);
+                    return dto;
                 })
-                .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    private Integer openMinuteFor(Boolean onlyOpen, LocalDateTime openAt) {
+        if (openAt != null) {
+            return WeeklySchedule.minuteOfWeek(openAt);
+        }
+        if (Boolean.TRUE.equals(onlyOpen)) {
+            return WeeklySchedule.minuteOfWeek(openingHoursService.now());
+        }
+        return null;
+    }
+    
     public RestaurantDTO getRestaurantById(Long id) {
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + id));
@@ -67,20 +240,104 @@ public class RestaurantService {
                 .collect(Collectors.toList());
     }
     
+    public List<RestaurantCardDTO> getRestaurantCardsByOwner(Long ownerId) {
+        return toCards(restaurantRepository.findCardsByOwnerIdOrderByIdAsc(ownerId));
+    }
+    
+    /**
+     * An owner's restaurants by id, one keyset page at a time
+     */
+    public CursorPageDTO<?> getRestaurantsByOwnerPage(Long ownerId, View view, String cursor, int limit) {
+        ListingCursor after = ListingCursor.decode(cursor, OWNER_SCOPE);
+        long afterId = after == null ? 0L : after.position();
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Limit rows = Limit.of(pageSize + 1);
+        if (view == View.CARD) {
+            return ownerPage(restaurantRepository.findCardsByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerId, afterId, rows),
+                    pageSize, RestaurantCard::getId, this::toCard);
+        }
+        return ownerPage(restaurantRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerId, afterId, rows),
+                pageSize, Restaurant::getId, this::convertToDTO);
+    }
+    
+    private <T, R> CursorPageDTO<R> ownerPage(List<T> rows, int pageSize, Function<T, Long> idOf, Function<T, R> convert) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = new ListingCursor(OWNER_SCOPE, idOf.apply(rows.get(pageSize - 1)), "").encode();
+        }
+        return new CursorPageDTO<>(rows.stream().map(convert).collect(Collectors.toList()), nextCursor);
+    }
+    
+    /**
+     * Ranked by the in-memory search index; only the matching rows are loaded from the database
+     */
     public List<RestaurantDTO> searchRestaurants(String query) {
-        return restaurantRepository.findByNameContainingIgnoreCase(query)
+        return loadInOrder(searchService.searchRestaurantIds(query, SearchService.MAX_RESULTS));
+    }
+    
+    public List<RestaurantCardDTO> searchRestaurantCards(String query) {
+        return cardsInOrder(searchService.searchRestaurantIds(query, SearchService.MAX_RESULTS));
+    }
+    
+    /**
+     * Search results a page at a time; the ranking is recomputed per page and the cursor is a position in it
+     */
+    public CursorPageDTO<?> searchRestaurantsPage(String query, View view, String cursor, int limit) {
+        ListingCursor after = ListingCursor.decode(cursor, SEARCH_SCOPE);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<Long> ids = searchService.searchRestaurantIds(query, SearchService.MAX_RESULTS);
+        int from = after == null ? 0 : (int) Math.min(Math.max(after.position(), 0), ids.size());
+        int to = Math.min(from + pageSize, ids.size());
+        List<Long> pageIds = ids.subList(from, to);
+        String nextCursor = to < ids.size() ? new ListingCursor(SEARCH_SCOPE, to, "").encode() : null;
+        List<?> items = view == View.CARD ? cardsInOrder(pageIds) : loadInOrder(pageIds);
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+    
+    /**
+     * Full restaurants for ids, in the given order, with one query
+     */
+    private List<RestaurantDTO> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Restaurant> byId = restaurantRepository.findAllById(ids)
                 .stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    private List<RestaurantCardDTO> cardsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, RestaurantCard> byId = restaurantRepository.findCardsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(RestaurantCard::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toCard)
+                .collect(Collectors.toList());
+    }
+    
     @Transactional
     public RestaurantDTO createRestaurant(RestaurantDTO restaurantDTO) {
+        GeoService.validateCoordinates(restaurantDTO.getLatitude(), restaurantDTO.getLongitude());
+        OpeningHoursService.validate(restaurantDTO.getOpeningHours(),
+                restaurantDTO.getOpeningTime(), restaurantDTO.getClosingTime());
         Restaurant restaurant = convertToEntity(restaurantDTO);
         restaurant.setIsActive(true);
         restaurant.setRating(0.0);
         restaurant.setTotalReviews(0);
         Restaurant saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(CatalogChangedEvent.restaurantChanged(saved.getId(), saved.getCuisine()));
+        eventPublisher.publishEvent(RestaurantChangeEvent.of(saved, RestaurantChangeEvent.ChangeType.CREATED));
         return convertToDTO(saved);
     }
     
@@ -88,6 +345,11 @@ public class RestaurantService {
     public RestaurantDTO updateRestaurant(Long id, RestaurantDTO restaurantDTO) {
         Restaurant existing = restaurantRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + id));
+        String previousCuisine = existing.getCuisine();
+        boolean wasActive = Boolean.TRUE.equals(existing.getIsActive());
+        GeoService.validateCoordinates(restaurantDTO.getLatitude(), restaurantDTO.getLongitude());
+        OpeningHoursService.validate(restaurantDTO.getOpeningHours(),
+                restaurantDTO.getOpeningTime(), restaurantDTO.getClosingTime());
         
         existing.setName(restaurantDTO.getName());
         existing.setDescription(restaurantDTO.getDescription());
@@ -98,8 +360,12 @@ public class RestaurantService {
         existing.setCuisine(restaurantDTO.getCuisine());
         existing.setOpeningTime(restaurantDTO.getOpeningTime());
         existing.setClosingTime(restaurantDTO.getClosingTime());
+        existing.setOpeningHours(restaurantDTO.getOpeningHours());
         existing.setDeliveryFee(restaurantDTO.getDeliveryFee());
         existing.setEstimatedDeliveryTime(restaurantDTO.getEstimatedDeliveryTime());
+        existing.setLatitude(restaurantDTO.getLatitude());
+        existing.setLongitude(restaurantDTO.getLongitude());
+        existing.setDeliveryRadiusKm(restaurantDTO.getDeliveryRadiusKm());
         
         // Update isActive if provided
         if (restaurantDTO.getIsActive() != null) {
@@ -107,6 +373,13 @@ public class RestaurantService {
         }
         
         Restaurant updated = restaurantRepository.save(existing);
+        eventPublisher.publishEvent(
+                CatalogChangedEvent.restaurantChanged(updated.getId(), previousCuisine, updated.getCuisine()));
+        boolean active = Boolean.TRUE.equals(updated.getIsActive());
+        RestaurantChangeEvent.ChangeType changeType = wasActive == active
+                ? RestaurantChangeEvent.ChangeType.UPDATED
+                : active ? RestaurantChangeEvent.ChangeType.ACTIVATED : RestaurantChangeEvent.ChangeType.DEACTIVATED;
+        eventPublisher.publishEvent(RestaurantChangeEvent.of(updated, changeType));
         return convertToDTO(updated);
     }
     
@@ -116,9 +389,11 @@ public class RestaurantService {
                 .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + id));
         restaurant.setIsActive(false);
         restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(CatalogChangedEvent.restaurantChanged(id, restaurant.getCuisine()));
+        eventPublisher.publishEvent(RestaurantChangeEvent.of(restaurant, RestaurantChangeEvent.ChangeType.DEACTIVATED));
     }
     
-    private RestaurantDTO convertToDTO(Restaurant restaurant) {
+    RestaurantDTO convertToDTO(Restaurant restaurant) {
         RestaurantDTO dto = new RestaurantDTO();
         dto.setId(restaurant.getId());
         dto.setOwnerId(restaurant.getOwnerId());
@@ -134,13 +409,29 @@ public class RestaurantService {
         dto.setIsActive(restaurant.getIsActive());
         dto.setOpeningTime(restaurant.getOpeningTime());
         dto.setClosingTime(restaurant.getClosingTime());
+        dto.setOpeningHours(restaurant.getOpeningHours());
         dto.setDeliveryFee(restaurant.getDeliveryFee());
         dto.setEstimatedDeliveryTime(restaurant.getEstimatedDeliveryTime());
+        dto.setLiveDeliveryTime(kitchenLoadService.liveDeliveryTime(
+                restaurant.getId(), restaurant.getEstimatedDeliveryTime()));
+        dto.setLatitude(restaurant.getLatitude());
+        dto.setLongitude(restaurant.getLongitude());
+        dto.setDeliveryRadiusKm(restaurant.getDeliveryRadiusKm());
         dto.setCreatedAt(restaurant.getCreatedAt());
         dto.setUpdatedAt(restaurant.getUpdatedAt());
         return dto;
     }
     
+    private List<RestaurantCardDTO> toCards(List<RestaurantCard> cards) {
+        return cards.stream().map(this::toCard).collect(Collectors.toList());
+    }
+    
+    private RestaurantCardDTO toCard(RestaurantCard card) {
+        return new RestaurantCardDTO(card.getId(), card.getName(), card.getCuisine(), card.getImageUrl(),
+                card.getRating(), card.getTotalReviews(), card.getDeliveryFee(), card.getEstimatedDeliveryTime(),
+                kitchenLoadService.liveDeliveryTime(card.getId(), card.getEstimatedDeliveryTime()));
+    }
+    
     private Restaurant convertToEntity(RestaurantDTO dto) {
         Restaurant restaurant = new Restaurant();
         restaurant.setOwnerId(dto.getOwnerId());
@@ -153,8 +444,12 @@ public class RestaurantService {
         restaurant.setCuisine(dto.getCuisine());
         restaurant.setOpeningTime(dto.getOpeningTime());
         restaurant.setClosingTime(dto.getClosingTime());
+        restaurant.setOpeningHours(dto.getOpeningHours());
         restaurant.setDeliveryFee(dto.getDeliveryFee());
         restaurant.setEstimatedDeliveryTime(dto.getEstimatedDeliveryTime());
+        restaurant.setLatitude(dto.getLatitude());
+        restaurant.setLongitude(dto.getLongitude());
+        restaurant.setDeliveryRadiusKm(dto.getDeliveryRadiusKm());
         return restaurant;
     }
 }
@@ -0,0 +1,99 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.CreateReviewRequest;
+import com.fooddelivery.restaurant.dto.ReviewDTO;
+import com.fooddelivery.restaurant.entity.DeliveredOrder;
+import com.fooddelivery.restaurant.entity.Review;
+import com.fooddelivery.restaurant.event.ReviewSubmittedEvent;
+import com.fooddelivery.restaurant.repository.DeliveredOrderRepository;
+import com.fooddelivery.restaurant.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ReviewService {
+    
+    public static final int MAX_COMMENT_LENGTH = 2000;
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    private final ReviewRepository reviewRepository;
+    private final DeliveredOrderRepository deliveredOrderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Store a review for a delivered order placed by this user at this restaurant, one per order.
+     * The restaurant's rating is updated asynchronously by the RatingAggregator.
+     */
+    @Transactional
+    public ReviewDTO createReview(Long restaurantId, Long userId, CreateReviewRequest request) {
+        if (request.getOrderId() == null) {
+            throw new IllegalArgumentException("orderId is required");
+        }
+        if (request.getRating() == null || request.getRating() < 1 || request.getRating() > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        String comment = request.getComment() == null ? null : request.getComment().trim();
+        if (comment != null && comment.length() > MAX_COMMENT_LENGTH) {
+            throw new IllegalArgumentException("Comment must be at most " + MAX_COMMENT_LENGTH + " characters");
+        }
+        
+        DeliveredOrder order = deliveredOrderRepository.findById(request.getOrderId())
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Order " + request.getOrderId() + " has not been delivered yet"));
+        if (!order.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("Order " + request.getOrderId() + " does not belong to this user");
+        }
+        if (!order.getRestaurantId().equals(restaurantId)) {
+            throw new IllegalArgumentException("Order " + request.getOrderId() + " is not from this restaurant");
+        }
+        if (reviewRepository.existsByOrderId(order.getOrderId())) {
+            throw new IllegalArgumentException("Order " + request.getOrderId() + " has already been reviewed");
+        }
+        
+        Review review = new Review();
+        review.setRestaurantId(restaurantId);
+        review.setOrderId(order.getOrderId());
+        review.setUserId(userId);
+        review.setRating(request.getRating());
+        review.setComment(comment == null || comment.isEmpty() ? null : comment);
+        review.setAggregated(false);
+        
+        Review saved;
+        try {
+            saved = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent review of the same order
+            throw new IllegalArgumentException("Order " + request.getOrderId() + " has already been reviewed");
+        }
+        eventPublisher.publishEvent(new ReviewSubmittedEvent(saved.getId(), restaurantId, saved.getRating()));
+        return convertToDTO(saved);
+    }
+    
+    public List<ReviewDTO> getReviewsByRestaurant(Long restaurantId, int page, int size) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return reviewRepository.findByRestaurantIdOrderByCreatedAtDescIdDesc(restaurantId, pageable)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
+    private ReviewDTO convertToDTO(Review review) {
+        ReviewDTO dto = new ReviewDTO();
+        dto.setId(review.getId());
+        dto.setRestaurantId(review.getRestaurantId());
+        dto.setOrderId(review.getOrderId());
+        dto.setUserId(review.getUserId());
+        dto.setRating(review.getRating());
+        dto.setComment(review.getComment());
+        dto.setCreatedAt(review.getCreatedAt());
+        return dto;
+    }
+}
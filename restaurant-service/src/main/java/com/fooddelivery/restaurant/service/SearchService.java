@@ -0,0 +1,167 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.SearchResultDTO;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.search.SearchDocument;
+import com.fooddelivery.restaurant.search.SearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over restaurants and dishes, served from {@link SearchIndex}.
+ * The index is built once the application is ready and then kept in step with every
+ * committed catalog change, local or reported by another instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+    
+    public static final int MAX_RESULTS = 100;
+    
+    // A restaurant found only through one of its dishes ranks below a direct name/cuisine hit
+    private static final double DISH_TO_RESTAURANT_FACTOR = 0.5;
+    
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final SearchIndex searchIndex;
+    private final CatalogSnapshotService catalogSnapshotService;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        List<SearchDocument> documents = new ArrayList<>();
+        catalogSnapshotService.activeRestaurants().forEach(r -> documents.add(SearchDocument.of(r)));
+        catalogSnapshotService.availableMenuItems().forEach(m -> documents.add(SearchDocument.of(m)));
+        searchIndex.replaceAll(documents);
+        log.info("Search index built: {} documents, {} tokens in {} ms",
+                searchIndex.size(), searchIndex.vocabularySize(), System.currentTimeMillis() - start);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            if (event.isRestaurantChange()) {
+                reindexRestaurant(event.getRestaurantId());
+            } else if (event.getMenuItemId() != null) {
+                reindexMenuItem(event.getMenuItemId());
+            } else {
+                reindexMenu(event.getRestaurantId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to update search index for restaurant {}", event.getRestaurantId(), e);
+        }
+    }
+    
+    /**
+     * Unified search; type is "all", "restaurant" or "dish"
+     */
+    public List<SearchResultDTO> search(String query, String type, int limit) {
+        Predicate<SearchDocument> filter;
+        switch (type == null ? "all" : type.toLowerCase()) {
+            case "restaurant":
+                filter = SearchDocument::isRestaurant;
+                break;
+            case "dish":
+                filter = doc -> !doc.isRestaurant() && isRestaurantListed(doc.restaurantId());
+                break;
+            case "all":
+                filter = doc -> doc.isRestaurant() || isRestaurantListed(doc.restaurantId());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown search type: " + type);
+        }
+        
+        return searchIndex.search(query, filter, clampLimit(limit))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Restaurant ids best matching the query, including restaurants matched through their dishes
+     */
+    public List<Long> searchRestaurantIds(String query, int limit) {
+        int max = clampLimit(limit);
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        for (SearchIndex.Hit hit : searchIndex.search(query, doc -> isRestaurantListed(doc.restaurantId()), max * 4)) {
+            double score = hit.document().isRestaurant() ? hit.score() : hit.score() * DISH_TO_RESTAURANT_FACTOR;
+            scores.merge(hit.document().restaurantId(), score, Math::max);
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(max)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+    
+    private void reindexRestaurant(Long restaurantId) {
+        Restaurant restaurant = restaurantRepository.findById(restaurantId).orElse(null);
+        if (restaurant != null && Boolean.TRUE.equals(restaurant.getIsActive())) {
+            searchIndex.put(SearchDocument.of(restaurant));
+        } else {
+            // Its dishes stay indexed but are hidden until the restaurant is listed again
+            searchIndex.remove(SearchDocument.Key.restaurant(restaurantId));
+        }
+    }
+    
+    private void reindexMenuItem(Long menuItemId) {
+        MenuItem menuItem = menuItemRepository.findById(menuItemId).orElse(null);
+        if (menuItem != null && Boolean.TRUE.equals(menuItem.getIsAvailable())) {
+            searchIndex.put(SearchDocument.of(menuItem));
+        } else {
+            searchIndex.remove(SearchDocument.Key.menuItem(menuItemId));
+        }
+    }
+    
+    private void reindexMenu(Long restaurantId) {
+        searchIndex.removeIf(doc -> !doc.isRestaurant() && restaurantId.equals(doc.restaurantId()));
+        menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId)
+                .forEach(m -> searchIndex.put(SearchDocument.of(m)));
+    }
+    
+    private boolean isRestaurantListed(Long restaurantId) {
+        return restaurantId != null && searchIndex.get(SearchDocument.Key.restaurant(restaurantId)) != null;
+    }
+    
+    private int clampLimit(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_RESULTS);
+    }
+    
+    private SearchResultDTO convertToDTO(SearchIndex.Hit hit) {
+        SearchDocument doc = hit.document();
+        SearchDocument restaurant = doc.isRestaurant()
+                ? doc
+                : searchIndex.get(SearchDocument.Key.restaurant(doc.restaurantId()));
+        
+        SearchResultDTO dto = new SearchResultDTO();
+        dto.setType(doc.key().type().name());
+        dto.setId(doc.key().id());
+        dto.setRestaurantId(doc.restaurantId());
+        dto.setRestaurantName(restaurant != null ? restaurant.name() : null);
+        dto.setName(doc.name());
+        dto.setCuisine(restaurant != null ? restaurant.cuisine() : null);
+        dto.setCategory(doc.category());
+        dto.setImageUrl(doc.imageUrl());
+        dto.setPrice(doc.price());
+        dto.setRating(restaurant != null ? restaurant.rating() : null);
+        dto.setIsVegetarian(doc.isVegetarian());
+        dto.setScore(Math.round(hit.score() * 1000.0) / 1000.0);
+        return dto;
+    }
+}
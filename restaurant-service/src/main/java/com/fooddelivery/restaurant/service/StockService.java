@@ -0,0 +1,399 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.StockReservationRequest;
+import com.fooddelivery.restaurant.dto.StockReservationResult;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.MenuItemStock;
+import com.fooddelivery.restaurant.entity.StockReservation;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.event.MenuItemChangeEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.MenuItemStockRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.repository.StockReservationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Daily stock for limited dishes (menu items with a dailyStock).
+ *
+ * Today's stock lives in menu_item_stock as a pool. Each instance leases small blocks of
+ * units from the pool and serves reservations from in-memory counters with CAS decrements, so checkouts
+ * never lock and the pool row is touched once per block rather than once per order. Leases idle for a
+ * while are handed back to the pool (write-behind), as are all leases on shutdown.
+ * Units can never be sold twice across instances; units leased by an instance that crashes are lost
+ * until the next day's reset, which errs on the side of underselling.
+ *
+ * An item whose pool and local lease are both empty is flipped to unavailable (soldOut), and flipped
+ * back when units return or a new day starts. Pools are outside the second-level cache; the flips are
+ * locked entity writes on the menu item, so each evicts only that item's cache entry.
+ */
+@Service
+@Slf4j
+public class StockService {
+
+    private final MenuItemRepository menuItemRepository;
+    private final MenuItemStockRepository stockRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final StockReservationRepository reservationRepository;
+    private final OpeningHoursService openingHoursService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int leaseSize;
+    private final long leaseIdleMs;
+
+    private final ConcurrentMap<Long, Lease> leases = new ConcurrentHashMap<>();
+
+    public StockService(MenuItemRepository menuItemRepository,
+                        MenuItemStockRepository stockRepository,
+                        RestaurantRepository restaurantRepository,
+                        StockReservationRepository reservationRepository,
+                        OpeningHoursService openingHoursService,
+                        TransactionTemplate transactionTemplate,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${restaurant.stock.lease-size:5}") int leaseSize,
+                        @Value("${restaurant.stock.lease-idle-ms:15000}") long leaseIdleMs) {
+        this.menuItemRepository = menuItemRepository;
+        this.stockRepository = stockRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.reservationRepository = reservationRepository;
+        this.openingHoursService = openingHoursService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.leaseIdleMs = leaseIdleMs;
+    }
+
+    /**
+     * Units of one item's stock day held by this instance
+     */
+    private static final class Lease {
+        final Long menuItemId;
+        final LocalDate day;
+        final AtomicInteger units = new AtomicInteger();
+        volatile long lastUsed = System.currentTimeMillis();
+        boolean retired; // Guarded by the lease; set once its units went back to the pool
+
+        Lease(Long menuItemId, LocalDate day) {
+            this.menuItemId = menuItemId;
+            this.day = day;
+        }
+
+        boolean tryTake(int quantity) {
+            lastUsed = System.currentTimeMillis();
+            while (true) {
+                int available = units.get();
+                if (available < quantity) {
+                    return false;
+                }
+                if (units.compareAndSet(available, available - quantity)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Hold stock for every limited item of the order, all or nothing. Repeating the call for an
+     * order that already holds stock is a no-op.
+     */
+    public StockReservationResult reserve(StockReservationRequest request) {
+        if (request.getOrderId() == null || request.getItems() == null || request.getItems().isEmpty()) {
+            throw new IllegalArgumentException("orderId and items are required");
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (StockReservationRequest.Line line : request.getItems()) {
+            if (line.getMenuItemId() == null || line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Every item needs a menuItemId and a positive quantity");
+            }
+            quantities.merge(line.getMenuItemId(), line.getQuantity(), Integer::sum);
+        }
+        if (reservationRepository.existsByOrderId(request.getOrderId())) {
+            return new StockReservationResult(request.getOrderId(), true, List.of());
+        }
+
+        Map<Long, MenuItem> items = menuItemRepository.findAllById(quantities.keySet())
+                .stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        LocalDate day = today();
+        List<Long> unavailable = new ArrayList<>();
+        List<StockReservation> taken = new ArrayList<>();
+
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            MenuItem item = items.get(entry.getKey());
+            if (item == null || !Boolean.TRUE.equals(item.getIsAvailable())) {
+                unavailable.add(entry.getKey());
+            } else if (item.getDailyStock() != null) {
+                if (take(item.getId(), entry.getValue(), day)) {
+                    taken.add(new StockReservation(null, request.getOrderId(), item.getId(),
+                            entry.getValue(), day, false, null));
+                } else {
+                    unavailable.add(item.getId());
+                }
+            }
+        }
+
+        if (!unavailable.isEmpty()) {
+            taken.forEach(r -> giveBack(r.getMenuItemId(), r.getQuantity(), r.getStockDate()));
+            return new StockReservationResult(request.getOrderId(), false, unavailable);
+        }
+        if (!taken.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reservationRepository.saveAll(taken));
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent call for the same order got there first and holds the stock
+                taken.forEach(r -> giveBack(r.getMenuItemId(), r.getQuantity(), r.getStockDate()));
+            }
+        }
+        return new StockReservationResult(request.getOrderId(), true, List.of());
+    }
+
+    /**
+     * Return the order's units to the pool; safe to call more than once, from any instance
+     */
+    public int release(Long orderId) {
+        int released = 0;
+        for (StockReservation reservation : reservationRepository.findByOrderIdAndReleasedFalse(orderId)) {
+            Boolean done = transactionTemplate.execute(status -> {
+                if (reservationRepository.markReleased(reservation.getId()) != 1) {
+                    return false;
+                }
+                returnToPool(reservation.getMenuItemId(), reservation.getQuantity(), reservation.getStockDate());
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Owner set a new daily stock: today's pool starts again from it (null makes the item unlimited)
+     */
+    public void restock(Long menuItemId, Integer dailyStock) {
+        LocalDate day = today();
+        // Units this instance still holds belong to the old count
+        Lease lease = leases.remove(menuItemId);
+        if (lease != null) {
+            synchronized (lease) {
+                lease.retired = true;
+                lease.units.set(0);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            MenuItemStock stock = stockRepository.findByIdForUpdate(menuItemId)
+                    .orElseGet(() -> new MenuItemStock(menuItemId, null, null, null));
+            stock.setDailyStock(dailyStock);
+            stock.setStockRemaining(dailyStock);
+            stock.setStockDate(dailyStock == null ? null : day);
+            stockRepository.save(stock);
+            if (restoreSoldOut(menuItemId)) {
+                publishAvailabilityChange(menuItemId, true);
+            }
+        });
+    }
+
+    /**
+     * Start a new stock day for items still on an earlier one and bring back those that sold out
+     */
+    @Scheduled(fixedDelayString = "${restaurant.stock.reset-check-interval-ms:60000}")
+    public void resetDailyStock() {
+        LocalDate day = today();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> soldOut = menuItemRepository.findSoldOutBefore(day)
+                        .stream()
+                        .map(MenuItem::getId)
+                        .toList();
+                int reset = stockRepository.resetDailyStock(day, null);
+                for (Long menuItemId : soldOut) {
+                    if (restoreSoldOut(menuItemId)) {
+                        publishAvailabilityChange(menuItemId, true);
+                    }
+                }
+                if (reset > 0) {
+                    log.info("Started stock day {} for {} item(s)", day, reset);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to reset daily stock", e);
+        }
+    }
+
+    /**
+     * Write-behind: hand units of idle or outdated leases back to the pool
+     */
+    @Scheduled(fixedDelayString = "${restaurant.stock.flush-interval-ms:5000}")
+    public void returnIdleLeases() {
+        long cutoff = System.currentTimeMillis() - leaseIdleMs;
+        LocalDate day = today();
+        leases.values().stream()
+                .filter(lease -> lease.lastUsed < cutoff || !lease.day.equals(day))
+                .toList()
+                .forEach(this::retire);
+    }
+
+    @PreDestroy
+    public void returnAllLeases() {
+        List.copyOf(leases.values()).forEach(this::retire);
+    }
+
+    private boolean take(Long menuItemId, int quantity, LocalDate day) {
+        while (true) {
+            Lease lease = leases.get(menuItemId);
+            if (lease == null || !lease.day.equals(day)) {
+                lease = leases.compute(menuItemId, (id, current) ->
+                        current == null || !current.day.equals(day) ? new Lease(id, day) : current);
+            }
+            if (lease.tryTake(quantity)) {
+                return true;
+            }
+            synchronized (lease) {
+                if (lease.retired) {
+                    continue;
+                }
+                if (lease.tryTake(quantity)) {
+                    return true;
+                }
+                int wanted = Math.max(quantity - lease.units.get(), leaseSize);
+                int claimed = claimFromPool(menuItemId, wanted, day);
+                lease.units.addAndGet(claimed);
+                if (lease.tryTake(quantity)) {
+                    return true;
+                }
+                if (lease.units.get() == 0) {
+                    markSoldOut(menuItemId);
+                }
+                return false;
+            }
+        }
+    }
+
+    private int claimFromPool(Long menuItemId, int wanted, LocalDate day) {
+        Integer claimed = transactionTemplate.execute(status -> {
+            stockRepository.resetDailyStock(day, menuItemId);
+            MenuItemStock stock = stockRepository.findByIdForUpdate(menuItemId).orElse(null);
+            if (stock == null || stock.getStockRemaining() == null || !day.equals(stock.getStockDate())) {
+                return 0;
+            }
+            int units = Math.min(wanted, Math.max(stock.getStockRemaining(), 0));
+            return units > 0 && stockRepository.takeStock(menuItemId, units) == 1 ? units : 0;
+        });
+        return claimed == null ? 0 : claimed;
+    }
+
+    private void giveBack(Long menuItemId, int quantity, LocalDate day) {
+        Lease lease = leases.get(menuItemId);
+        if (lease != null && lease.day.equals(day)) {
+            synchronized (lease) {
+                if (!lease.retired) {
+                    lease.units.addAndGet(quantity);
+                    return;
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> returnToPool(menuItemId, quantity, day));
+    }
+
+    private void retire(Lease lease) {
+        int units;
+        synchronized (lease) {
+            if (lease.retired) {
+                return;
+            }
+            lease.retired = true;
+            leases.remove(lease.menuItemId, lease);
+            units = lease.units.getAndSet(0);
+        }
+        if (units > 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> returnToPool(lease.menuItemId, units, lease.day));
+            } catch (RuntimeException e) {
+                log.error("Failed to return {} unit(s) of menu item {} to stock", units, lease.menuItemId, e);
+            }
+        }
+    }
+
+    /**
+     * Joins the caller's transaction. Units of an earlier stock day are dropped.
+     */
+    private void returnToPool(Long menuItemId, int units, LocalDate day) {
+        if (stockRepository.returnStock(menuItemId, units, day) == 1 && restoreSoldOut(menuItemId)) {
+            publishAvailabilityChange(menuItemId, true);
+        }
+    }
+
+    /**
+     * Locks go pool first, then menu item (as in returnToPool and restock), so the two never deadlock
+     */
+    private void markSoldOut(Long menuItemId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            MenuItemStock stock = stockRepository.findByIdForUpdate(menuItemId).orElse(null);
+            if (stock == null || stock.getStockRemaining() == null || stock.getStockRemaining() > 0) {
+                return;
+            }
+            MenuItem item = menuItemRepository.findByIdForUpdate(menuItemId).orElse(null);
+            if (item == null || !Boolean.TRUE.equals(item.getIsAvailable())) {
+                return;
+            }
+            item.setIsAvailable(false);
+            item.setSoldOut(true);
+            log.info("Menu item {} sold out", menuItemId);
+            publishAvailabilityChange(menuItemId, false);
+        });
+    }
+
+    /**
+     * Make a sold-out item available again once its pool has units (or it is no longer limited).
+     * Joins the caller's transaction; returns whether the item was flipped.
+     */
+    private boolean restoreSoldOut(Long menuItemId) {
+        MenuItem item = menuItemRepository.findByIdForUpdate(menuItemId).orElse(null);
+        if (item == null || !Boolean.TRUE.equals(item.getSoldOut())) {
+            return false;
+        }
+        if (item.getDailyStock() != null) {
+            Integer remaining = stockRepository.findById(menuItemId)
+                    .map(MenuItemStock::getStockRemaining)
+                    .orElse(null);
+            if (remaining == null || remaining <= 0) {
+                return false;
+            }
+        }
+        item.setIsAvailable(true);
+        item.setSoldOut(false);
+        return true;
+    }
+
+    private void publishAvailabilityChange(Long menuItemId, boolean available) {
+        menuItemRepository.findById(menuItemId).ifPresent(item -> {
+            restaurantRepository.incrementMenuVersion(item.getRestaurantId());
+            eventPublisher.publishEvent(CatalogChangedEvent.menuChanged(item.getRestaurantId(), item.getId()));
+            eventPublisher.publishEvent(MenuItemChangeEvent.of(item, available
+                    ? MenuItemChangeEvent.ChangeType.AVAILABLE
+                    : MenuItemChangeEvent.ChangeType.UNAVAILABLE, null));
+        });
+    }
+
+    private LocalDate today() {
+        return openingHoursService.now().toLocalDate();
+    }
+}
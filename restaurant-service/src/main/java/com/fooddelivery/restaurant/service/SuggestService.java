@@ -0,0 +1,214 @@
+package com.fooddelivery.restaurant.service;
+
+import com.fooddelivery.restaurant.dto.SuggestionDTO;
+import com.fooddelivery.restaurant.entity.MenuItem;
+import com.fooddelivery.restaurant.entity.Restaurant;
+import com.fooddelivery.restaurant.event.CatalogChangedEvent;
+import com.fooddelivery.restaurant.repository.MenuItemRepository;
+import com.fooddelivery.restaurant.repository.RestaurantRepository;
+import com.fooddelivery.restaurant.search.SuggestTrie;
+import com.fooddelivery.restaurant.search.Tokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Search-box autocomplete over restaurant names, cuisines and dish names, served from {@link SuggestTrie}.
+ *
+ * Popularity is review volume: a restaurant weighs 1 + its review count, a cuisine or dish name the sum
+ * of the weights of the listed restaurants offering it. Those sums are maintained incrementally, so a
+ * catalog change only re-ranks the suggestions it touches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestService {
+    
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final SuggestTrie suggestTrie;
+    private final CatalogSnapshotService catalogSnapshotService;
+    
+    private record Listed(String name, String cuisine, long weight) {
+        
+        static Listed of(Restaurant restaurant) {
+            int reviews = restaurant.getTotalReviews() == null ? 0 : restaurant.getTotalReviews();
+            return new Listed(restaurant.getName(), restaurant.getCuisine(), 1L + reviews);
+        }
+    }
+    
+    private record Dish(Long restaurantId, String name) {
+    }
+    
+    /**
+     * A cuisine or dish name and the restaurants behind it
+     */
+    private static final class Aggregate {
+        final String text;
+        long popularity;
+        int members;
+        
+        Aggregate(String text) {
+            this.text = text;
+        }
+    }
+    
+    // Writer-side state, guarded by this service
+    private final Map<Long, Listed> listed = new HashMap<>();
+    private final Map<Long, Dish> dishes = new HashMap<>();
+    private final Map<Long, Set<Long>> dishesByRestaurant = new HashMap<>();
+    private final Map<String, Aggregate> cuisines = new HashMap<>();
+    private final Map<String, Aggregate> dishNames = new HashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void buildIndex() {
+        long start = System.currentTimeMillis();
+        suggestTrie.clear();
+        listed.clear();
+        dishes.clear();
+        dishesByRestaurant.clear();
+        cuisines.clear();
+        dishNames.clear();
+        
+        catalogSnapshotService.activeRestaurants().forEach(r -> setRestaurant(r.getId(), Listed.of(r)));
+        catalogSnapshotService.availableMenuItems().forEach(m -> setDish(m.getId(), dishOf(m)));
+        log.info("Suggest index built: {} restaurants, {} cuisines, {} dish names in {} ms",
+                listed.size(), cuisines.size(), dishNames.size(), System.currentTimeMillis() - start);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            if (event.isRestaurantChange()) {
+                Restaurant restaurant = restaurantRepository.findById(event.getRestaurantId()).orElse(null);
+                boolean active = restaurant != null && Boolean.TRUE.equals(restaurant.getIsActive());
+                setRestaurant(event.getRestaurantId(), active ? Listed.of(restaurant) : null);
+            } else if (event.getMenuItemId() != null) {
+                MenuItem menuItem = menuItemRepository.findById(event.getMenuItemId()).orElse(null);
+                setDish(event.getMenuItemId(), menuItem != null && Boolean.TRUE.equals(menuItem.getIsAvailable())
+                        ? dishOf(menuItem) : null);
+            } else {
+                reloadMenu(event.getRestaurantId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to update suggest index for restaurant {}", event.getRestaurantId(), e);
+        }
+    }
+    
+    /**
+     * Most popular restaurants, cuisines and dishes with a word starting with the prefix
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return suggestTrie.complete(prefix, Math.min(Math.max(limit, 1), SuggestTrie.MAX_SUGGESTIONS))
+                .stream()
+                .map(s -> new SuggestionDTO(s.kind().name(), s.text(), s.restaurantId()))
+                .collect(Collectors.toList());
+    }
+    
+    private void reloadMenu(Long restaurantId) {
+        Map<Long, MenuItem> available = menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId)
+                .stream()
+                .collect(Collectors.toMap(MenuItem::getId, m -> m));
+        for (Long menuItemId : Set.copyOf(dishesByRestaurant.getOrDefault(restaurantId, Set.of()))) {
+            if (!available.containsKey(menuItemId)) {
+                setDish(menuItemId, null);
+            }
+        }
+        available.forEach((id, menuItem) -> setDish(id, dishOf(menuItem)));
+    }
+    
+    /**
+     * Move a restaurant to its new state (null when no longer listed), carrying its cuisine and dishes along
+     */
+    private void setRestaurant(Long restaurantId, Listed next) {
+        Listed previous = listed.get(restaurantId);
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+        Set<Long> menuItemIds = dishesByRestaurant.getOrDefault(restaurantId, Set.of());
+        
+        if (previous != null) {
+            listed.remove(restaurantId);
+            suggestTrie.remove(SuggestTrie.Suggestion.restaurant(restaurantId, previous.name(), 0));
+            contribute(cuisines, previous.cuisine(), -previous.weight(), -1, SuggestTrie.Suggestion::cuisine);
+            for (Long menuItemId : menuItemIds) {
+                contribute(dishNames, dishes.get(menuItemId).name(), -previous.weight(), -1,
+                        SuggestTrie.Suggestion::dish);
+            }
+        }
+        if (next != null) {
+            listed.put(restaurantId, next);
+            if (!Tokenizer.normalize(next.name()).isEmpty()) {
+                suggestTrie.put(SuggestTrie.Suggestion.restaurant(restaurantId, next.name(), next.weight()));
+            }
+            contribute(cuisines, next.cuisine(), next.weight(), 1, SuggestTrie.Suggestion::cuisine);
+            for (Long menuItemId : menuItemIds) {
+                contribute(dishNames, dishes.get(menuItemId).name(), next.weight(), 1,
+                        SuggestTrie.Suggestion::dish);
+            }
+        }
+    }
+    
+    /**
+     * Move a menu item to its new state (null when unavailable or gone); only listed restaurants contribute
+     */
+    private void setDish(Long menuItemId, Dish next) {
+        Dish previous = dishes.get(menuItemId);
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+        if (previous != null) {
+            dishes.remove(menuItemId);
+            Set<Long> ids = dishesByRestaurant.get(previous.restaurantId());
+            ids.remove(menuItemId);
+            if (ids.isEmpty()) {
+                dishesByRestaurant.remove(previous.restaurantId());
+            }
+            Listed owner = listed.get(previous.restaurantId());
+            if (owner != null) {
+                contribute(dishNames, previous.name(), -owner.weight(), -1, SuggestTrie.Suggestion::dish);
+            }
+        }
+        if (next != null) {
+            dishes.put(menuItemId, next);
+            dishesByRestaurant.computeIfAbsent(next.restaurantId(), id -> new HashSet<>()).add(menuItemId);
+            Listed owner = listed.get(next.restaurantId());
+            if (owner != null) {
+                contribute(dishNames, next.name(), owner.weight(), 1, SuggestTrie.Suggestion::dish);
+            }
+        }
+    }
+    
+    private void contribute(Map<String, Aggregate> aggregates, String text, long weight, int members,
+                            BiFunction<String, Double, SuggestTrie.Suggestion> suggestion) {
+        String key = Tokenizer.normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        Aggregate aggregate = aggregates.computeIfAbsent(key, k -> new Aggregate(text.trim()));
+        aggregate.popularity += weight;
+        aggregate.members += members;
+        if (aggregate.members <= 0) {
+            aggregates.remove(key);
+            suggestTrie.remove(suggestion.apply(aggregate.text, 0.0));
+        } else {
+            suggestTrie.put(suggestion.apply(aggregate.text, (double) aggregate.popularity));
+        }
+    }
+    
+    private static Dish dishOf(MenuItem menuItem) {
+        return new Dish(menuItem.getRestaurantId(), menuItem.getName());
+    }
+}
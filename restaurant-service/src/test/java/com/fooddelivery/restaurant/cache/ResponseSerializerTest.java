@@ -0,0 +1,91 @@
+package com.fooddelivery.restaurant.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSerializerTest {
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    // Configured as Spring Boot configures the application's ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ResponseSerializer serializer = new ResponseSerializer(objectMapper, true, 6, GZIP_MIN_BYTES);
+
+    @Test
+    void bodyBelowMinBytesIsNotCompressed() throws IOException {
+        SerializedResponse body = serializer.serialize(List.of("a", "b"), "ok");
+        assertThat(body.hasGzip()).isFalse();
+
+        ResponseEntity<byte[]> response = serializer.write(ResponseEntity.ok(), body, "gzip, deflate");
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertEnvelope(objectMapper.readTree(response.getBody()), 2);
+    }
+
+    @Test
+    void bodyAboveMinBytesIsGzippedAndDecompressesToThePlainBody() throws IOException {
+        List<String> data = IntStream.range(0, 200).mapToObj(i -> "item-" + i).toList();
+        SerializedResponse body = serializer.serialize(data, "ok");
+        assertThat(body.hasGzip()).isTrue();
+
+        ResponseEntity<byte[]> gzipped = serializer.write(ResponseEntity.ok(), body, "gzip");
+        ResponseEntity<byte[]> plain = serializer.write(ResponseEntity.ok(), body, null);
+
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(plain.getBody().length).isGreaterThanOrEqualTo(GZIP_MIN_BYTES);
+        byte[] unzipped = SerializedResponseTest.gunzip(gzipped.getBody());
+        assertEnvelope(objectMapper.readTree(unzipped), data.size());
+        assertEnvelope(objectMapper.readTree(plain.getBody()), data.size());
+    }
+
+    @Test
+    void acceptsGzipWhenListed() {
+        assertThat(ResponseSerializer.acceptsGzip("gzip")).isTrue();
+        assertThat(ResponseSerializer.acceptsGzip("GZIP")).isTrue();
+        assertThat(ResponseSerializer.acceptsGzip("deflate, gzip, br")).isTrue();
+        assertThat(ResponseSerializer.acceptsGzip("gzip;q=0.5")).isTrue();
+        assertThat(ResponseSerializer.acceptsGzip(" gzip ; q = 1 ")).isTrue();
+        assertThat(ResponseSerializer.acceptsGzip("x-gzip")).isTrue();
+        assertThat(ResponseSerializer.acceptsGzip("*")).isTrue();
+        assertThat(ResponseSerializer.acceptsGzip("br;q=1.0, *;q=0.1")).isTrue();
+    }
+
+    @Test
+    void refusesGzipWhenAbsentOrQIsZero() {
+        assertThat(ResponseSerializer.acceptsGzip(null)).isFalse();
+        assertThat(ResponseSerializer.acceptsGzip("")).isFalse();
+        assertThat(ResponseSerializer.acceptsGzip("identity")).isFalse();
+        assertThat(ResponseSerializer.acceptsGzip("deflate, br")).isFalse();
+        assertThat(ResponseSerializer.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ResponseSerializer.acceptsGzip("gzip;q=0.000")).isFalse();
+        assertThat(ResponseSerializer.acceptsGzip("gzip;q=abc")).isFalse();
+        assertThat(ResponseSerializer.acceptsGzip("*;q=0")).isFalse();
+    }
+
+    @Test
+    void explicitGzipEntryWinsOverWildcard() {
+        assertThat(ResponseSerializer.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(ResponseSerializer.acceptsGzip("*;q=0, gzip")).isTrue();
+    }
+
+    private static void assertEnvelope(JsonNode envelope, int items) {
+        assertThat(envelope.get("success").asBoolean()).isTrue();
+        assertThat(envelope.get("message").asText()).isEqualTo("ok");
+        assertThat(envelope.get("data").size()).isEqualTo(items);
+        assertThat(envelope.get("timestamp").isTextual()).isTrue();
+    }
+}
@@ -0,0 +1,79 @@
+package com.fooddelivery.restaurant.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SerializedResponseTest {
+
+    private static final byte[] TIMESTAMP = "\"2026-10-19T12:34:56.789\"".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void gzipDecompressesToThePlainBody() throws IOException {
+        SerializedResponse response = new SerializedResponse(
+                utf8("{\"success\":true,\"data\":[1,2,3],\"message\":\"ok\",\"timestamp\":"), utf8("}"),
+                true, Deflater.DEFAULT_COMPRESSION);
+
+        assertThat(gunzip(response.renderGzip(TIMESTAMP))).isEqualTo(response.render(TIMESTAMP));
+    }
+
+    @Test
+    void gzipRoundTripsEmptyParts() throws IOException {
+        SerializedResponse response = new SerializedResponse(new byte[0], new byte[0], true, 6);
+
+        assertThat(gunzip(response.renderGzip(TIMESTAMP))).isEqualTo(TIMESTAMP);
+        assertThat(gunzip(response.renderGzip(new byte[0]))).isEmpty();
+    }
+
+    @Test
+    void gzipRoundTripsPartsLargerThanTheDeflateBuffer() throws IOException {
+        // Random bytes do not compress, so each part produces several 8 KB output buffers
+        Random random = new Random(42);
+        byte[] head = new byte[40_000];
+        byte[] tail = new byte[25_000];
+        random.nextBytes(head);
+        random.nextBytes(tail);
+
+        for (int level : new int[] {Deflater.NO_COMPRESSION, Deflater.BEST_SPEED, Deflater.BEST_COMPRESSION}) {
+            SerializedResponse response = new SerializedResponse(head, tail, true, level);
+            assertThat(gunzip(response.renderGzip(TIMESTAMP))).isEqualTo(response.render(TIMESTAMP));
+        }
+    }
+
+    @Test
+    void gzipStaysValidAcrossTimestamps() throws IOException {
+        SerializedResponse response = new SerializedResponse(utf8("{\"a\":"), utf8(",\"b\":2}"), true, 6);
+
+        for (String timestamp : new String[] {"null", "\"2026-01-01T00:00:00\"", "\"2026-12-31T23:59:59.999999999\""}) {
+            byte[] bytes = utf8(timestamp);
+            assertThat(gunzip(response.renderGzip(bytes))).isEqualTo(response.render(bytes));
+        }
+    }
+
+    @Test
+    void renderSplicesTheTimestamp() {
+        SerializedResponse response = new SerializedResponse(utf8("{\"t\":"), utf8("}"), false, 6);
+
+        assertThat(new String(response.render(utf8("1")), StandardCharsets.UTF_8)).isEqualTo("{\"t\":1}");
+        assertThat(response.hasGzip()).isFalse();
+        assertThatThrownBy(() -> response.renderGzip(TIMESTAMP)).isInstanceOf(IllegalStateException.class);
+    }
+
+    static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,26 @@
+-- Optional daily stock for limited dishes, and the per-order reservations drawn from it
+-- Hibernate (ddl-auto: update) adds these on fresh databases; run this on existing ones.
+
+USE restaurant_db;
+
+ALTER TABLE menu_items
+ADD COLUMN daily_stock INT NULL,
+ADD COLUMN stock_remaining INT NULL,
+ADD COLUMN stock_date DATE NULL,
+ADD COLUMN sold_out BIT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    order_id     BIGINT      NOT NULL,
+    menu_item_id BIGINT      NOT NULL,
+    quantity     INT         NOT NULL,
+    stock_date   DATE        NOT NULL,
+    released     BIT         NOT NULL DEFAULT 0,
+    created_at   DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_stock_reservations_order_item (order_id, menu_item_id)
+) ENGINE=InnoDB;
+
+DESCRIBE menu_items;
+
+SELECT 'Menu item daily stock added successfully!' AS status;
@@ -0,0 +1,23 @@
+-- Secondary indexes for order_db.orders
+-- Hibernate (ddl-auto: update) creates these on fresh databases; run this on existing ones.
+
+USE order_db;
+
+-- PAYMENT_PENDING sweeper: WHERE status = ? AND created_at < ? ORDER BY created_at
+CREATE INDEX idx_orders_status_created ON orders (status, created_at);
+
+-- Admin order search: each filter's equality columns first, created_at last for range + keyset sort
+CREATE INDEX idx_orders_restaurant_status_created ON orders (restaurant_id, status, created_at);
+-- Restaurant filter without a status filter, ordered by created_at
+CREATE INDEX idx_orders_restaurant_created ON orders (restaurant_id, created_at);
+CREATE INDEX idx_orders_customer_created ON orders (customer_id, created_at);
+CREATE INDEX idx_orders_payment_status_created ON orders (payment_status, created_at);
+CREATE INDEX idx_orders_created ON orders (created_at);
+
+-- sortBy=grandTotal keyset paging (grand_total, id), with and without the restaurant filter
+CREATE INDEX idx_orders_restaurant_total ON orders (restaurant_id, grand_total, id);
+CREATE INDEX idx_orders_total ON orders (grand_total, id);
+
+SHOW INDEX FROM orders;
+
+SELECT 'Order indexes created successfully!' as status;
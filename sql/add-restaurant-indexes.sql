@@ -0,0 +1,14 @@
+-- Secondary indexes for restaurant_db
+-- Hibernate (ddl-auto: update) creates these on fresh databases; run this on existing ones.
+
+USE restaurant_db;
+
+-- Restaurant browsing: WHERE is_active = 1 [AND cuisine = ?] [AND rating >= ?] ORDER BY rating / delivery time
+CREATE INDEX idx_restaurants_active_cuisine_rating ON restaurants (is_active, cuisine, rating);
+CREATE INDEX idx_restaurants_active_rating ON restaurants (is_active, rating);
+CREATE INDEX idx_restaurants_active_delivery_time ON restaurants (is_active, estimated_delivery_time);
+CREATE INDEX idx_restaurants_owner ON restaurants (owner_id);
+
+SHOW INDEX FROM restaurants;
+
+SELECT 'Restaurant indexes created successfully!' as status;
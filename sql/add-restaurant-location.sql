@@ -0,0 +1,14 @@
+-- Add location fields for "restaurants near me"
+-- Hibernate (ddl-auto: update) adds these on fresh databases; run this on existing ones.
+-- Nearby queries are answered from the in-memory geo index, so no spatial index is needed here.
+
+USE restaurant_db;
+
+ALTER TABLE restaurants
+ADD COLUMN latitude DOUBLE NULL,
+ADD COLUMN longitude DOUBLE NULL,
+ADD COLUMN delivery_radius_km DOUBLE NULL;
+
+DESCRIBE restaurants;
+
+SELECT 'Restaurant location columns added successfully!' AS status;
@@ -0,0 +1,11 @@
+-- Per-restaurant menu version, bumped by every menu item write (drives menu ETags)
+-- Hibernate (ddl-auto: update) adds this on fresh databases; run this on existing ones.
+
+USE restaurant_db;
+
+ALTER TABLE restaurants
+ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
+
+DESCRIBE restaurants;
+
+SELECT 'Restaurant menu version column added successfully!' AS status;
@@ -0,0 +1,12 @@
+-- Optional per-day opening hours, e.g. 'MON-FRI 11:00-23:00; SAT,SUN 10:00-01:00; TUE CLOSED'
+-- When NULL the single opening_time/closing_time pair applies every day.
+-- Hibernate (ddl-auto: update) adds this on fresh databases; run this on existing ones.
+
+USE restaurant_db;
+
+ALTER TABLE restaurants
+ADD COLUMN opening_hours TEXT NULL AFTER closing_time;
+
+DESCRIBE restaurants;
+
+SELECT 'Restaurant opening hours column added successfully!' AS status;
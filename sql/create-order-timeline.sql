@@ -0,0 +1,50 @@
+-- Append-only order timeline, partitioned by month
+-- Run once before starting order-service so Hibernate (ddl-auto: update) finds the partitioned table
+-- instead of creating a plain one. Rows are fixed width: BIGINT / TINYINT / DATETIME(3).
+
+USE order_db;
+
+-- Monthly partitions start at the month the script runs in (the first one also takes any earlier rows)
+-- and cover the next three months; pYYYY_MM holds the rows of that month.
+SET @month0 = DATE_FORMAT(CURDATE(), '%Y-%m-01');
+SET @partitions = '';
+SET @i = 0;
+SET @partitions = CONCAT(@partitions, 'PARTITION p', DATE_FORMAT(@month0 + INTERVAL @i MONTH, '%Y_%m'),
+    ' VALUES LESS THAN (''', @month0 + INTERVAL (@i + 1) MONTH, '''), ');
+SET @i = 1;
+SET @partitions = CONCAT(@partitions, 'PARTITION p', DATE_FORMAT(@month0 + INTERVAL @i MONTH, '%Y_%m'),
+    ' VALUES LESS THAN (''', @month0 + INTERVAL (@i + 1) MONTH, '''), ');
+SET @i = 2;
+SET @partitions = CONCAT(@partitions, 'PARTITION p', DATE_FORMAT(@month0 + INTERVAL @i MONTH, '%Y_%m'),
+    ' VALUES LESS THAN (''', @month0 + INTERVAL (@i + 1) MONTH, '''), ');
+SET @i = 3;
+SET @partitions = CONCAT(@partitions, 'PARTITION p', DATE_FORMAT(@month0 + INTERVAL @i MONTH, '%Y_%m'),
+    ' VALUES LESS THAN (''', @month0 + INTERVAL (@i + 1) MONTH, '''), ');
+
+SET @ddl = CONCAT('
+CREATE TABLE IF NOT EXISTS order_timeline (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    order_id    BIGINT      NOT NULL,
+    from_status TINYINT     NULL,
+    to_status   TINYINT     NOT NULL,
+    source      TINYINT     NOT NULL,
+    actor_id    BIGINT      NULL,
+    changed_at  DATETIME(3) NOT NULL,
+    -- The partition column must be part of every unique key
+    PRIMARY KEY (id, changed_at),
+    KEY idx_timeline_order_changed (order_id, changed_at)
+) ENGINE=InnoDB ROW_FORMAT=COMPACT
+PARTITION BY RANGE COLUMNS (changed_at) (', @partitions, 'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE create_timeline FROM @ddl;
+EXECUTE create_timeline;
+DEALLOCATE PREPARE create_timeline;
+
+-- Rolling forward: OrderTimelinePartitionMaintainer in order-service splits p_future every night (and at
+-- startup) so partitions always exist order.timeline.partitions.months-ahead months ahead. By hand, e.g.
+-- ALTER TABLE order_timeline REORGANIZE PARTITION p_future INTO (
+--     PARTITION p2027_01 VALUES LESS THAN ('2027-02-01'),
+--     PARTITION p_future VALUES LESS THAN (MAXVALUE)
+-- );
+-- Old months can be archived with ALTER TABLE order_timeline DROP PARTITION pYYYY_MM;
+
+SELECT 'order_timeline created successfully!' as status;
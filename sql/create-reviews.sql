@@ -0,0 +1,32 @@
+-- Reviews for delivered orders
+-- delivered_orders is filled from the order-delivered Kafka topic and gates who may review what.
+-- Restaurant rating/total_reviews are maintained incrementally from reviews (see RatingAggregator).
+
+USE restaurant_db;
+
+CREATE TABLE IF NOT EXISTS delivered_orders (
+    order_id      BIGINT      NOT NULL,
+    user_id       BIGINT      NOT NULL,
+    restaurant_id BIGINT      NOT NULL,
+    delivered_at  DATETIME(6) NULL,
+    PRIMARY KEY (order_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS reviews (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    restaurant_id BIGINT      NOT NULL,
+    order_id      BIGINT      NOT NULL,
+    user_id       BIGINT      NOT NULL,
+    rating        INT         NOT NULL,
+    comment       TEXT        NULL,
+    aggregated    BIT         NOT NULL DEFAULT 0,
+    created_at    DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_reviews_order (order_id),
+    KEY idx_reviews_restaurant_created (restaurant_id, created_at),
+    KEY idx_reviews_aggregated_created (aggregated, created_at)
+) ENGINE=InnoDB;
+
+DESCRIBE reviews;
+
+SELECT 'reviews and delivered_orders created successfully!' AS status;
@@ -0,0 +1,31 @@
+-- Move the daily stock pools of limited dishes out of menu_items into their own table.
+-- menu_items is second-level cached; keeping the frequently updated pool apart leaves its cache entries alone.
+-- Hibernate (ddl-auto: update) creates the table on fresh databases; run this on existing ones
+-- (after add-menu-item-daily-stock.sql).
+
+USE restaurant_db;
+
+CREATE TABLE IF NOT EXISTS menu_item_stock (
+    menu_item_id    BIGINT NOT NULL,
+    daily_stock     INT    NULL,
+    stock_remaining INT    NULL,
+    stock_date      DATE   NULL,
+    PRIMARY KEY (menu_item_id)
+) ENGINE=InnoDB;
+
+INSERT INTO menu_item_stock (menu_item_id, daily_stock, stock_remaining, stock_date)
+SELECT id, daily_stock, stock_remaining, stock_date
+FROM menu_items
+WHERE daily_stock IS NOT NULL
+ON DUPLICATE KEY UPDATE
+    daily_stock = VALUES(daily_stock),
+    stock_remaining = VALUES(stock_remaining),
+    stock_date = VALUES(stock_date);
+
+ALTER TABLE menu_items
+DROP COLUMN stock_remaining,
+DROP COLUMN stock_date;
+
+DESCRIBE menu_item_stock;
+
+SELECT 'Menu item stock moved successfully!' AS status;